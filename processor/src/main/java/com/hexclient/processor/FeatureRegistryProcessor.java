@@ -0,0 +1,231 @@
+package com.hexclient.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates com.hexclient.features.GeneratedFeatureRegistry from every class annotated with @FeatureInfo
+ * The annotation is matched by name so this project does not depend on the client sources
+ */
+@SupportedAnnotationTypes(FeatureRegistryProcessor.ANNOTATION)
+public class FeatureRegistryProcessor extends AbstractProcessor {
+    
+    static final String ANNOTATION = "com.hexclient.features.FeatureInfo";
+    static final String FEATURE = "com.hexclient.features.Feature";
+    static final String PACKAGE = "com.hexclient.features";
+    static final String REGISTRY = "GeneratedFeatureRegistry";
+    
+    private boolean generated = false;
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || annotations.isEmpty()) return false;
+        
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        TypeElement feature = processingEnv.getElementUtils().getTypeElement(FEATURE);
+        if (annotation == null || feature == null) return false;
+        
+        Messager messager = processingEnv.getMessager();
+        List<Entry> entries = new ArrayList<>();
+        boolean valid = true;
+        
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            Entry entry = readEntry(element, annotation);
+            if (entry == null || !checkType((TypeElement) element, feature.asType())) {
+                valid = false;
+                continue;
+            }
+            entries.add(entry);
+        }
+        
+        entries.sort(Comparator.comparingInt(entry -> entry.id));
+        valid &= checkIds(entries);
+        
+        if (valid) {
+            try {
+                writeRegistry(entries);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + REGISTRY + ": " + e.getMessage());
+            }
+        }
+        
+        generated = true;
+        return true;
+    }
+    
+    private Entry readEntry(Element element, TypeElement annotation) {
+        if (element.getKind() != ElementKind.CLASS) {
+            error(element, "@FeatureInfo is only allowed on classes");
+            return null;
+        }
+        
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(annotation)) continue;
+            
+            Map<String, Object> values = new HashMap<>();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                values.put(value.getKey().getSimpleName().toString(), value.getValue().getValue());
+            }
+            
+            if (values.size() < 4) {
+                // Missing members are already reported by javac
+                return null;
+            }
+            
+            TypeElement type = (TypeElement) element;
+            return new Entry(
+                (Integer) values.get("id"),
+                (String) values.get("name"),
+                (String) values.get("description"),
+                ((VariableElement) values.get("category")).getSimpleName().toString(),
+                type.getQualifiedName().toString(),
+                element
+            );
+        }
+        return null;
+    }
+    
+    /**
+     * The registry constructs features with a public no-argument constructor
+     */
+    private boolean checkType(TypeElement type, TypeMirror feature) {
+        if (!processingEnv.getTypeUtils().isAssignable(type.asType(), feature)) {
+            error(type, "@FeatureInfo class must extend " + FEATURE);
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getModifiers().contains(Modifier.PUBLIC)) {
+            error(type, "@FeatureInfo class must be public and concrete");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        error(type, "@FeatureInfo class needs a public no-argument constructor");
+        return false;
+    }
+    
+    /**
+     * Ids index the manager's arrays directly, so they must be dense; names must be unique ignoring case
+     */
+    private boolean checkIds(List<Entry> entries) {
+        boolean valid = true;
+        Map<String, Entry> names = new HashMap<>();
+        
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (i > 0 && entries.get(i - 1).id == entry.id) {
+                error(entry.element, "Duplicate feature id " + entry.id + " (also used by " + entries.get(i - 1).className + ")");
+                valid = false;
+            } else if (entry.id != i && valid) {
+                error(entry.element, "Feature ids must run from 0 without gaps; expected " + i + " but found " + entry.id);
+                valid = false;
+            }
+            
+            Entry clash = names.put(entry.name.toLowerCase(), entry);
+            if (clash != null) {
+                error(entry.element, "Duplicate feature name " + entry.name + " (also used by " + clash.className + ")");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+    
+    private void writeRegistry(List<Entry> entries) throws IOException {
+        Element[] origins = new Element[entries.size()];
+        for (int i = 0; i < origins.length; i++) {
+            origins[i] = entries.get(i).element;
+        }
+        
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(PACKAGE + "." + REGISTRY, origins);
+        try (Writer out = file.openWriter()) {
+            out.write("package " + PACKAGE + ";\n\n");
+            out.write("/**\n * Generated from @FeatureInfo by FeatureRegistryProcessor; do not edit\n */\n");
+            out.write("final class " + REGISTRY + " {\n\n");
+            out.write("    static final int COUNT = " + entries.size() + ";\n\n");
+            
+            out.write("    private static final String[] NAMES = {\n");
+            for (Entry entry : entries) {
+                out.write("        " + quote(entry.name) + ",\n");
+            }
+            out.write("    };\n\n");
+            
+            out.write("    private " + REGISTRY + "() {\n    }\n\n");
+            
+            out.write("    static void registerAll(FeatureManager manager) {\n");
+            for (Entry entry : entries) {
+                // Lambdas rather than constructor references, so module classes load on first use
+                out.write("        manager.register(" + entry.id + ", " + quote(entry.name) + ", "
+                    + quote(entry.description) + ", FeatureCategory." + entry.category
+                    + ", () -> new " + entry.className + "());\n");
+            }
+            out.write("    }\n\n");
+            
+            out.write("    /**\n     * Id for a feature name, or -1; exact names hit the switch, other casings fall back to a scan\n     */\n");
+            out.write("    static int idOf(String name) {\n");
+            out.write("        switch (name) {\n");
+            for (Entry entry : entries) {
+                out.write("            case " + quote(entry.name) + ": return " + entry.id + ";\n");
+            }
+            out.write("            default: break;\n");
+            out.write("        }\n");
+            out.write("        for (int i = 0; i < NAMES.length; i++) {\n");
+            out.write("            if (NAMES[i].equalsIgnoreCase(name)) return i;\n");
+            out.write("        }\n");
+            out.write("        return -1;\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+    
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+    
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                default -> builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+    
+    private record Entry(int id, String name, String description, String category, String className, Element element) {
+    }
+}
@@ -2,30 +2,90 @@ package com.hexclient.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.hexclient.features.settings.Setting;
+import com.hexclient.utils.FlightRecorder;
 import com.hexclient.utils.Logger;
+import com.hexclient.utils.jfr.ConfigIoEvent;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
 
 /**
  * Configuration manager for HexClient
- * Handles saving and loading of client settings
+ * Handles saving and loading of client settings, and reloads the file when it is edited
+ * while the game is running
  */
 public class ConfigManager {
     
     private static final String CONFIG_DIR = "hexclient";
     private static final String CONFIG_FILE = "config.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+    private static final String PROFILE_DIR = "profiles";
+    private static final String PROFILE_SUFFIX = ".json";
+    
+    /** Saves requested within this window are written once, at the end of it */
+    private static final long SAVE_DELAY_MS = 500;
     
     private final Gson gson;
     private final File configDir;
     private final File configFile;
     
-    private HexClientConfig config;
+    // Writes happen on this thread so the client thread never waits on disk I/O
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HexClient Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Set by saveConfig until the save window closes. The snapshot is then taken once, on the
+    // client thread, so the writer never serializes the live object while it is being modified
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicReference<JsonElement> pendingSnapshot = new AtomicReference<>();
+    private static final long SHUTDOWN_WAIT_MS = 2000;
+    
+    private volatile HexClientConfig config;
+    
+    // Checksum of the file as we last wrote or reloaded it, so our own saves are not reloaded
+    private volatile long knownChecksum;
+    private final ConfigWatcher watcher;
+    
+    // Client thread only: the live settings of each loaded feature, and whether a reload or
+    // profile is applying them (their change listeners would otherwise save once per value)
+    private final Map<String, List<Setting<?>>> boundSettings = new HashMap<>();
+    private boolean applyingValues = false;
+    
+    // Sorted by name; read once at startup
+    private List<ConfigProfile> profiles = List.of();
     
     public ConfigManager() {
         this.gson = new GsonBuilder().setPrettyPrinting().create();
@@ -38,6 +98,7 @@ public class ConfigManager {
         }
         
         loadConfig();
+        watcher = ConfigWatcher.start(configFile.toPath(), this::reload);
     }
     
     public void loadConfig() {
@@ -48,46 +109,438 @@ public class ConfigManager {
             return;
         }
         
-        try (FileReader reader = new FileReader(configFile)) {
-            config = gson.fromJson(reader, HexClientConfig.class);
-            if (config == null) {
-                config = new HexClientConfig();
+        ConfigIoEvent event = new ConfigIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        HexClientConfig loaded = new HexClientConfig();
+        int version;
+        try {
+            byte[] bytes = Files.readAllBytes(configFile.toPath());
+            knownChecksum = checksum(bytes);
+            try (Reader in = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+                version = ConfigReader.read(in, loaded);
             }
-            Logger.info("Configuration loaded successfully");
+            event.success = true;
+        } catch (IOException | RuntimeException e) {
+            // Sections read before the error are kept; keep a copy of the file before it is overwritten
+            Logger.error("Failed to load configuration, unread sections use defaults", e);
+            backup(BACKUP_SUFFIX);
+            config = loaded;
+            return;
+        } finally {
+            commitIoEvent(event, "load");
+        }
+        
+        config = loaded;
+        Logger.info("Configuration loaded in {} us", (System.nanoTime() - start) / 1000);
+        
+        if (version < ConfigReader.SCHEMA_VERSION) {
+            Logger.info("Migrating configuration from schema {} to {}", version, ConfigReader.SCHEMA_VERSION);
+            saveConfig();
+        } else if (version > ConfigReader.SCHEMA_VERSION) {
+            Logger.warn("Configuration schema {} is newer than this client; unknown settings will not be saved", version);
+            backup(".v" + version + BACKUP_SUFFIX);
+        }
+    }
+    
+    private void backup(String suffix) {
+        Path source = configFile.toPath();
+        try {
+            Files.copy(source, source.resolveSibling(CONFIG_FILE + suffix), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            Logger.error("Failed to load configuration", e);
-            config = new HexClientConfig();
+            Logger.warn("Failed to back up configuration: {}", e.toString());
         }
     }
     
+    /**
+     * Mark the configuration as changed and schedule a save; changes made within the save
+     * window are written together, from one snapshot taken when the window closes
+     */
     public void saveConfig() {
-        try (FileWriter writer = new FileWriter(configFile)) {
-            gson.toJson(config, writer);
-            Logger.info("Configuration saved successfully");
-        } catch (IOException e) {
+        if (dirty.compareAndSet(false, true)) {
+            writer.schedule(this::requestSnapshot, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Write any pending changes now on the calling thread, e.g. during shutdown
+     * Must be called on the client thread; if the writer thread is mid-write, this waits for it
+     */
+    public void flush() {
+        takeSnapshot();
+        writePending();
+    }
+    
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+        flush();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                Logger.warn("Config writer did not finish within {} ms", SHUTDOWN_WAIT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Called on the writer thread when the save window closes
+     * The config is only read on the client thread, so the snapshot is taken there
+     */
+    private void requestSnapshot() {
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client == null) {
+            // Saved during startup, before the client exists and anything else touches the config
+            snapshotAndSchedule();
+        } else {
+            client.execute(this::snapshotAndSchedule);
+        }
+    }
+    
+    private void snapshotAndSchedule() {
+        if (takeSnapshot() && !writer.isShutdown()) {
+            writer.execute(this::writePending);
+        }
+    }
+    
+    /**
+     * Snapshot the config if it changed since the last snapshot
+     *
+     * @return whether a snapshot was taken
+     */
+    private boolean takeSnapshot() {
+        if (!dirty.getAndSet(false)) return false;
+        pendingSnapshot.set(gson.toJsonTree(config));
+        return true;
+    }
+    
+    /**
+     * Runs under the same lock as a write in progress, so a flush cannot return while the
+     * writer thread still holds an unwritten snapshot
+     */
+    private synchronized void writePending() {
+        // Taken before serializing so changes made during the write schedule another save
+        JsonElement snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            writeConfig(snapshot);
+        }
+    }
+    
+    /**
+     * Serialize to a temporary file and move it over the old config, so a crash mid-write
+     * leaves either the old file or the new one, never a truncated one
+     */
+    private synchronized void writeConfig(JsonElement snapshot) {
+        ConfigIoEvent event = new ConfigIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        
+        Path target = configFile.toPath();
+        Path temp = target.resolveSibling(CONFIG_FILE + TEMP_SUFFIX);
+        try {
+            byte[] bytes = gson.toJson(snapshot).getBytes(StandardCharsets.UTF_8);
+            Files.write(temp, bytes);
+            knownChecksum = checksum(bytes);
+            moveIntoPlace(temp, target);
+            event.success = true;
+        } catch (IOException | RuntimeException e) {
+            FlightRecorder.recordException(e);
             Logger.error("Failed to save configuration", e);
         }
+        
+        FlightRecorder.recordConfigSave(System.nanoTime() - start, event.success);
+        commitIoEvent(event, "save");
+        if (event.success) {
+            Logger.debug("Configuration saved in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+    
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Called on the watcher thread when config.json changes on disk
+     * A file that does not parse is ignored, since it is most likely still being written;
+     * the next change event will pick up the finished file
+     */
+    private void reload(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            Logger.warn("Failed to read changed configuration: {}", e.toString());
+            return;
+        }
+        
+        long checksum = checksum(bytes);
+        if (checksum == knownChecksum) return;
+        
+        HexClientConfig loaded = new HexClientConfig();
+        try (Reader in = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ConfigReader.read(in, loaded);
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("Ignoring incomplete or invalid configuration change: {}", e.getMessage());
+            return;
+        }
+        
+        knownChecksum = checksum;
+        MinecraftClient.getInstance().execute(() -> applyReload(loaded));
+    }
+    
+    /**
+     * Swap in a reloaded config on the client thread, pushing only the setting values that
+     * differ into the loaded features. Features themselves are left as they are
+     */
+    private void applyReload(HexClientConfig loaded) {
+        // The file on disk wins over changes not written yet
+        dirty.set(false);
+        pendingSnapshot.set(null);
+        
+        HexClientConfig current = config;
+        current.general = loaded.general;
+        current.gui = loaded.gui;
+        current.performance = loaded.performance;
+        current.combat = loaded.combat;
+        
+        int changed = 0;
+        for (Map.Entry<String, JsonObject> entry : loaded.moduleSettings.entrySet()) {
+            JsonObject values = entry.getValue();
+            if (!values.equals(current.moduleSettings.put(entry.getKey(), values))) {
+                changed += applyChanged(entry.getKey(), values);
+            }
+        }
+        
+        Logger.info("Configuration reloaded, {} settings changed", changed);
+    }
+    
+    /**
+     * Push the values that differ into a loaded feature's settings without saving
+     */
+    private int applyChanged(String featureName, JsonObject values) {
+        List<Setting<?>> settings = boundSettings.get(featureName);
+        if (settings == null) return 0;
+        
+        int changed = 0;
+        applyingValues = true;
+        try {
+            for (Setting<?> setting : settings) {
+                JsonElement value = values.get(setting.getName());
+                if (value != null && !value.equals(setting.toJson())) {
+                    setting.fromJson(value);
+                    changed++;
+                }
+            }
+        } finally {
+            applyingValues = false;
+        }
+        return changed;
+    }
+    
+    /**
+     * Read every profile in the profiles directory, resolving feature names to ids
+     *
+     * @param featureNames feature names indexed by id
+     */
+    public void loadProfiles(String[] featureNames) {
+        Path dir = configDir.toPath().resolve(PROFILE_DIR);
+        if (!Files.isDirectory(dir)) return;
+        
+        Map<String, Integer> ids = new HashMap<>();
+        for (int id = 0; id < featureNames.length; id++) {
+            ids.put(featureNames[id].toLowerCase(Locale.ROOT), id);
+        }
+        
+        List<ConfigProfile> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + PROFILE_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - PROFILE_SUFFIX.length());
+                try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    loaded.add(readProfile(name, in, ids, featureNames.length));
+                } catch (IOException | RuntimeException e) {
+                    Logger.warn("Skipping profile {}: {}", fileName, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            Logger.error("Failed to list profiles", e);
+        }
+        
+        loaded.sort(Comparator.comparing(ConfigProfile::getName, String.CASE_INSENSITIVE_ORDER));
+        profiles = List.copyOf(loaded);
+        Logger.info("Loaded {} config profiles", profiles.size());
+    }
+    
+    /**
+     * A profile file holds an optional "enabled" array of feature names and a "settings"
+     * object shaped like moduleSettings
+     */
+    private static ConfigProfile readProfile(String name, Reader in, Map<String, Integer> ids, int featureCount)
+            throws IOException {
+        BitSet enabled = null;
+        Map<String, JsonObject> values = new HashMap<>();
+        JsonReader reader = new JsonReader(in);
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "enabled" -> {
+                    enabled = new BitSet(featureCount);
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        enabled.set(resolve(ids, reader.nextString(), name));
+                    }
+                    reader.endArray();
+                }
+                case "settings" -> ConfigReader.readModuleSettings(reader, values);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        JsonObject[] settings = new JsonObject[featureCount];
+        for (Map.Entry<String, JsonObject> entry : values.entrySet()) {
+            settings[resolve(ids, entry.getKey(), name)] = entry.getValue();
+        }
+        return new ConfigProfile(name, enabled, settings);
+    }
+    
+    private static int resolve(Map<String, Integer> ids, String feature, String profile) throws IOException {
+        Integer id = ids.get(feature.toLowerCase(Locale.ROOT));
+        if (id == null) {
+            throw new IOException("unknown feature " + feature + " in profile " + profile);
+        }
+        return id;
+    }
+    
+    public List<ConfigProfile> getProfiles() {
+        return profiles;
+    }
+    
+    public ConfigProfile getProfile(String name) {
+        for (ConfigProfile profile : profiles) {
+            if (profile.getName().equalsIgnoreCase(name)) return profile;
+        }
+        return null;
+    }
+    
+    /**
+     * Name of the profile last switched to, or an empty string
+     */
+    public String getActiveProfile() {
+        return config.general.profile;
+    }
+    
+    public void setActiveProfile(String name) {
+        if (!name.equals(config.general.profile)) {
+            config.general.profile = name;
+            saveConfig();
+        }
+    }
+    
+    /**
+     * Merge values over a feature's stored settings and push those that differ into its live
+     * settings, if it is loaded. Returns the number of live settings changed; the caller saves
+     */
+    public int mergeSettings(String featureName, JsonObject values) {
+        JsonObject merged = new JsonObject();
+        JsonObject stored = config.moduleSettings.get(featureName);
+        if (stored != null) {
+            for (Map.Entry<String, JsonElement> entry : stored.entrySet()) {
+                merged.add(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, JsonElement> entry : values.entrySet()) {
+            merged.add(entry.getKey(), entry.getValue());
+        }
+        config.moduleSettings.put(featureName, merged);
+        return applyChanged(featureName, values);
+    }
+    
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+    
+    private void commitIoEvent(ConfigIoEvent event, String operation) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = configFile.getPath();
+            event.bytes = configFile.length();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Apply a feature's stored settings; unknown names and mistyped values are ignored
+     * The settings are remembered so later reloads of the file can update them
+     */
+    public void applySettings(String featureName, List<Setting<?>> settings) {
+        boundSettings.put(featureName, settings);
+        JsonObject stored = config.moduleSettings.get(featureName);
+        if (stored == null) return;
+        
+        for (Setting<?> setting : settings) {
+            JsonElement value = stored.get(setting.getName());
+            if (value != null) {
+                setting.fromJson(value);
+            }
+        }
+    }
+    
+    /**
+     * Record a feature's current settings and schedule a save
+     */
+    public void storeSettings(String featureName, List<Setting<?>> settings) {
+        // The reload has already stored the file's values
+        if (applyingValues) return;
+        
+        JsonObject values = new JsonObject();
+        for (Setting<?> setting : settings) {
+            values.add(setting.getName(), setting.toJson());
+        }
+        config.moduleSettings.put(featureName, values);
+        saveConfig();
     }
     
     public HexClientConfig getConfig() {
         return config;
     }
     
+    public File getConfigDir() {
+        return configDir;
+    }
+    
     /**
      * Main configuration class for HexClient
      */
     public static class HexClientConfig {
+        public int schemaVersion = ConfigReader.SCHEMA_VERSION;
         public GeneralSettings general = new GeneralSettings();
         public GuiSettings gui = new GuiSettings();
         public PerformanceSettings performance = new PerformanceSettings();
         public CombatSettings combat = new CombatSettings();
-        public Map<String, Object> moduleSettings = new HashMap<>();
+        
+        // Settings per feature name. Entries are replaced rather than modified in place
+        public ConcurrentMap<String, JsonObject> moduleSettings = new ConcurrentHashMap<>();
         
         public static class GeneralSettings {
             public boolean enableClientBranding = true;
             public boolean showWelcomeMessage = true;
             public boolean enableUpdates = true;
             public String theme = "dark";
+            public String profile = "";
         }
         
         public static class GuiSettings {
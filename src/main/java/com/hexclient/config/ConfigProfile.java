@@ -0,0 +1,63 @@
+package com.hexclient.config;
+
+import com.google.gson.JsonObject;
+
+import java.util.BitSet;
+
+/**
+ * A named profile from config/hexclient/profiles, resolved against the feature ids when loaded
+ * so switching to it needs no parsing or name lookups
+ */
+public final class ConfigProfile {
+    
+    private final String name;
+    // Null when the profile leaves enabled features alone
+    private final BitSet enabled;
+    // Setting values indexed by feature id, null where the profile has none
+    private final JsonObject[] settings;
+    private final int[] configuredFeatures;
+    
+    ConfigProfile(String name, BitSet enabled, JsonObject[] settings) {
+        this.name = name;
+        this.enabled = enabled;
+        this.settings = settings;
+        
+        int count = 0;
+        for (JsonObject values : settings) {
+            if (values != null) count++;
+        }
+        this.configuredFeatures = new int[count];
+        for (int id = 0, i = 0; id < settings.length; id++) {
+            if (settings[id] != null) configuredFeatures[i++] = id;
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Ids of the features that must be toggled to match this profile, given those enabled now
+     */
+    public BitSet toggleDiff(BitSet currentlyEnabled) {
+        if (enabled == null) return new BitSet();
+        
+        BitSet diff = (BitSet) enabled.clone();
+        diff.xor(currentlyEnabled);
+        return diff;
+    }
+    
+    /**
+     * Ids of the features this profile has setting values for; the array must not be modified
+     */
+    public int[] getConfiguredFeatures() {
+        return configuredFeatures;
+    }
+    
+    /**
+     * Setting values for a feature, or null; the object must not be modified
+     */
+    public JsonObject getSettings(int featureId) {
+        return settings[featureId];
+    }
+}
@@ -0,0 +1,190 @@
+package com.hexclient.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.hexclient.config.ConfigManager.HexClientConfig;
+import com.hexclient.config.ConfigManager.HexClientConfig.CombatSettings;
+import com.hexclient.config.ConfigManager.HexClientConfig.GeneralSettings;
+import com.hexclient.config.ConfigManager.HexClientConfig.GuiSettings;
+import com.hexclient.config.ConfigManager.HexClientConfig.PerformanceSettings;
+import com.hexclient.utils.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Streaming reader for config.json
+ * Only known keys are read, each section by hand rather than through reflection. A section
+ * holding a value of the wrong type falls back to its defaults without affecting the others;
+ * broken JSON syntax stops the read, keeping the sections read before it
+ */
+final class ConfigReader {
+    
+    /**
+     * Written to every saved config; bump it and add a step to migrate() when the layout changes
+     * Files written before versioning have no schemaVersion and count as version 0
+     */
+    static final int SCHEMA_VERSION = 1;
+    
+    private ConfigReader() {
+    }
+    
+    /**
+     * Read a config into the given defaults and migrate it to the current schema
+     *
+     * @return the schema version the file was written with
+     * @throws IOException if the JSON is malformed; sections read so far are kept
+     */
+    static int read(Reader in, HexClientConfig into) throws IOException {
+        int version = 0;
+        JsonReader reader = new JsonReader(in);
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "schemaVersion" -> version = reader.nextInt();
+                case "general" -> into.general = readSection(reader, "general", GeneralSettings::new, ConfigReader::readGeneral);
+                case "gui" -> into.gui = readSection(reader, "gui", GuiSettings::new, ConfigReader::readGui);
+                case "performance" -> into.performance = readSection(reader, "performance", PerformanceSettings::new, ConfigReader::readPerformance);
+                case "combat" -> into.combat = readSection(reader, "combat", CombatSettings::new, ConfigReader::readCombat);
+                case "moduleSettings" -> readModuleSettings(reader, into.moduleSettings);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new MalformedJsonException("Unexpected data after the configuration object");
+        }
+        
+        migrate(into, version);
+        into.schemaVersion = SCHEMA_VERSION;
+        return version;
+    }
+    
+    /**
+     * Bring a config read from an older schema up to date; each step falls through to the next
+     */
+    private static void migrate(HexClientConfig config, int fromVersion) {
+        switch (fromVersion) {
+            case 0:
+                // Unversioned files share the version 1 layout
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Read an object of feature name to settings object; other values are skipped
+     */
+    static void readModuleSettings(JsonReader reader, Map<String, JsonObject> into) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String feature = reader.nextName();
+            JsonElement values = JsonParser.parseReader(reader);
+            if (values.isJsonObject()) {
+                into.put(feature, values.getAsJsonObject());
+            } else {
+                Logger.warn("Ignoring settings for {}: expected an object", feature);
+            }
+        }
+        reader.endObject();
+    }
+    
+    private interface FieldReader<S> {
+        void read(S section, String name, JsonReader reader) throws IOException;
+    }
+    
+    private static <S> S readSection(JsonReader reader, String name, Supplier<S> defaults, FieldReader<S> fields)
+            throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            Logger.warn("Config section {} is not an object, using defaults", name);
+            return defaults.get();
+        }
+        
+        S section = defaults.get();
+        String invalid = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (invalid != null) {
+                reader.skipValue();
+                continue;
+            }
+            try {
+                fields.read(section, field, reader);
+            } catch (IllegalStateException | NumberFormatException e) {
+                // A mistyped value is left unconsumed; skip it and the rest of the section
+                invalid = field;
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        if (invalid != null) {
+            Logger.warn("Config section {} has an invalid value for {}, using defaults", name, invalid);
+            return defaults.get();
+        }
+        return section;
+    }
+    
+    private static void readGeneral(GeneralSettings section, String name, JsonReader reader) throws IOException {
+        switch (name) {
+            case "enableClientBranding" -> section.enableClientBranding = reader.nextBoolean();
+            case "showWelcomeMessage" -> section.showWelcomeMessage = reader.nextBoolean();
+            case "enableUpdates" -> section.enableUpdates = reader.nextBoolean();
+            case "theme" -> section.theme = readString(reader);
+            case "profile" -> section.profile = readString(reader);
+            default -> reader.skipValue();
+        }
+    }
+    
+    private static void readGui(GuiSettings section, String name, JsonReader reader) throws IOException {
+        switch (name) {
+            case "enableAnimations" -> section.enableAnimations = reader.nextBoolean();
+            case "enableBlur" -> section.enableBlur = reader.nextBoolean();
+            case "guiScale" -> section.guiScale = (float) reader.nextDouble();
+            case "primaryColor" -> section.primaryColor = reader.nextInt();
+            case "accentColor" -> section.accentColor = reader.nextInt();
+            case "rainbowMode" -> section.rainbowMode = reader.nextBoolean();
+            default -> reader.skipValue();
+        }
+    }
+    
+    private static void readPerformance(PerformanceSettings section, String name, JsonReader reader) throws IOException {
+        switch (name) {
+            case "enableOptimizations" -> section.enableOptimizations = reader.nextBoolean();
+            case "reducedAnimations" -> section.reducedAnimations = reader.nextBoolean();
+            case "maxFps" -> section.maxFps = reader.nextInt();
+            case "enableVsync" -> section.enableVsync = reader.nextBoolean();
+            default -> reader.skipValue();
+        }
+    }
+    
+    private static void readCombat(CombatSettings section, String name, JsonReader reader) throws IOException {
+        switch (name) {
+            case "enableCombatFeatures" -> section.enableCombatFeatures = reader.nextBoolean();
+            case "showCombatInfo" -> section.showCombatInfo = reader.nextBoolean();
+            case "enableReach" -> section.enableReach = reader.nextBoolean();
+            case "reachDistance" -> section.reachDistance = reader.nextDouble();
+            default -> reader.skipValue();
+        }
+    }
+    
+    /**
+     * Like nextString, but only for actual strings; numbers are not silently converted
+     */
+    private static String readString(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.STRING) {
+            throw new IllegalStateException("Expected a string but was " + reader.peek());
+        }
+        return reader.nextString();
+    }
+}
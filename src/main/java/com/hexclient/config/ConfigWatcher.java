@@ -0,0 +1,102 @@
+package com.hexclient.config;
+
+import com.hexclient.utils.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the config directory and reports changes to one file
+ * Editors often save in several steps, so events are collected until the file has been
+ * quiet for a short while and then reported once
+ */
+final class ConfigWatcher implements Runnable {
+    
+    private static final long SETTLE_MS = 150;
+    
+    private final Path directory;
+    private final Path fileName;
+    private final Consumer<Path> onChange;
+    private final WatchService service;
+    private final Thread thread;
+    
+    private ConfigWatcher(Path file, Consumer<Path> onChange) throws IOException {
+        this.directory = file.getParent();
+        this.fileName = file.getFileName();
+        this.onChange = onChange;
+        this.service = FileSystems.getDefault().newWatchService();
+        
+        // Atomic replacement shows up as a create, in-place saves as a modify
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        
+        this.thread = new Thread(this, "HexClient Config Watcher");
+        thread.setDaemon(true);
+    }
+    
+    /**
+     * Start watching; returns null if the platform cannot watch the directory
+     */
+    static ConfigWatcher start(Path file, Consumer<Path> onChange) {
+        try {
+            ConfigWatcher watcher = new ConfigWatcher(file, onChange);
+            watcher.thread.start();
+            return watcher;
+        } catch (IOException | UnsupportedOperationException e) {
+            Logger.warn("Config hot reload unavailable: {}", e.toString());
+            return null;
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                boolean changed = poll(service.take());
+                
+                // Keep draining until the file settles
+                WatchKey key;
+                while ((key = service.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= poll(key);
+                }
+                
+                if (changed) {
+                    try {
+                        onChange.accept(directory.resolve(fileName));
+                    } catch (RuntimeException e) {
+                        Logger.error("Config reload failed", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed during shutdown
+        }
+    }
+    
+    private boolean poll(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // Overflow means events were lost, so the file may have changed
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+    
+    void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            Logger.warn("Failed to close config watcher: {}", e.toString());
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.hexclient.core;
 
 import com.hexclient.config.ConfigManager;
+import com.hexclient.events.EventBus;
 import com.hexclient.features.FeatureManager;
+import com.hexclient.features.TickPhase;
 import com.hexclient.gui.GuiManager;
+import com.hexclient.utils.FlightRecorder;
 import com.hexclient.utils.Logger;
+import com.hexclient.world.EntitySpatialIndex;
+import com.hexclient.world.WorldSnapshot;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.client.util.InputUtil;
 import org.lwjgl.glfw.GLFW;
 
+import java.util.Arrays;
+
 /**
  * HexClient - Advanced Minecraft Client
  * Combines the best features from popular clients with superior UI and performance
@@ -25,23 +33,32 @@ public class HexClient implements ClientModInitializer {
     
     // Core managers
     private ConfigManager configManager;
+    private EventBus eventBus;
     private FeatureManager featureManager;
     private GuiManager guiManager;
+    private final WorldSnapshot worldSnapshot = new WorldSnapshot();
+    private final EntitySpatialIndex spatialIndex = new EntitySpatialIndex();
     
     // Key bindings
     private KeyBinding toggleGuiKey;
     private KeyBinding toggleClickGuiKey;
     private KeyBinding toggleHudKey;
+    private KeyBinding toggleProfilerKey;
+    private KeyBinding dumpFlightRecorderKey;
+    private KeyBinding nextProfileKey;
     
     @Override
     public void onInitializeClient() {
         instance = this;
+        long start = System.nanoTime();
         
-        Logger.info("Initializing " + MOD_NAME + " v" + VERSION);
+        Logger.info("Initializing {} v{}", MOD_NAME, VERSION);
         
         // Initialize core managers
         this.configManager = new ConfigManager();
-        this.featureManager = new FeatureManager();
+        this.eventBus = new EventBus();
+        eventBus.subscribe(spatialIndex);
+        this.featureManager = new FeatureManager(eventBus, configManager);
         this.guiManager = new GuiManager();
         
         // Setup key bindings
@@ -53,7 +70,10 @@ public class HexClient implements ClientModInitializer {
         // Initialize features
         featureManager.initializeFeatures();
         
-        Logger.info(MOD_NAME + " initialization complete!");
+        FlightRecorder.configure(configManager.getConfigDir().toPath(), featureManager.getFeatureNames(),
+            Arrays.stream(TickPhase.values()).map(Enum::name).toArray(String[]::new));
+        
+        Logger.info("{} initialization complete in {} ms", MOD_NAME, (System.nanoTime() - start) / 1_000_000);
     }
     
     private void setupKeyBindings() {
@@ -77,10 +97,41 @@ public class HexClient implements ClientModInitializer {
             GLFW.GLFW_KEY_H,
             "category.hexclient.general"
         ));
+        
+        toggleProfilerKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.hexclient.toggle_profiler",
+            InputUtil.Type.KEYSYM,
+            GLFW.GLFW_KEY_F10,
+            "category.hexclient.general"
+        ));
+        
+        dumpFlightRecorderKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.hexclient.dump_flight_recorder",
+            InputUtil.Type.KEYSYM,
+            GLFW.GLFW_KEY_F9,
+            "category.hexclient.general"
+        ));
+        
+        nextProfileKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.hexclient.next_profile",
+            InputUtil.Type.KEYSYM,
+            GLFW.GLFW_KEY_F8,
+            "category.hexclient.general"
+        ));
     }
     
     private void registerEvents() {
+        // Pending config saves are written synchronously before the client exits
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> configManager.shutdown());
+        
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            // Capture entity state once for every feature this tick
+            worldSnapshot.capture(client.world, client.player);
+            spatialIndex.update(worldSnapshot);
+            
+            // Update features; the pre-tick pass runs from MinecraftClientMixin
+            featureManager.runPhase(TickPhase.POST_TICK);
+            
             if (client.player == null) return;
             
             // Handle key presses
@@ -96,8 +147,17 @@ public class HexClient implements ClientModInitializer {
                 guiManager.toggleHud();
             }
             
-            // Update features
-            featureManager.onTick();
+            while (toggleProfilerKey.wasPressed()) {
+                guiManager.toggleProfiler();
+            }
+            
+            while (dumpFlightRecorderKey.wasPressed()) {
+                FlightRecorder.dumpAsync("manual");
+            }
+            
+            while (nextProfileKey.wasPressed()) {
+                featureManager.cycleProfile(1);
+            }
         });
     }
     
@@ -109,6 +169,10 @@ public class HexClient implements ClientModInitializer {
         return configManager;
     }
     
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+    
     public FeatureManager getFeatureManager() {
         return featureManager;
     }
@@ -116,4 +180,18 @@ public class HexClient implements ClientModInitializer {
     public GuiManager getGuiManager() {
         return guiManager;
     }
+    
+    /**
+     * Entity state captured at the end of the current tick
+     */
+    public WorldSnapshot getWorldSnapshot() {
+        return worldSnapshot;
+    }
+    
+    /**
+     * Spatial index over the current world snapshot
+     */
+    public EntitySpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.hexclient.events;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Posted when the server changes a block in the client world
+ */
+public class BlockUpdateEvent extends Event {
+    
+    private static final BlockUpdateEvent INSTANCE = new BlockUpdateEvent();
+    
+    private BlockPos pos;
+    private BlockState state;
+    
+    public static BlockUpdateEvent get(BlockPos pos, BlockState state) {
+        INSTANCE.reset();
+        INSTANCE.pos = pos;
+        INSTANCE.state = state;
+        return INSTANCE;
+    }
+    
+    public BlockPos getPos() { return pos; }
+    public BlockState getState() { return state; }
+}
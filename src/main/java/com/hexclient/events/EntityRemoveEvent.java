@@ -0,0 +1,19 @@
+package com.hexclient.events;
+
+/**
+ * Posted when an entity is removed from the client world
+ */
+public class EntityRemoveEvent extends Event {
+    
+    private static final EntityRemoveEvent INSTANCE = new EntityRemoveEvent();
+    
+    private int entityId;
+    
+    public static EntityRemoveEvent get(int entityId) {
+        INSTANCE.reset();
+        INSTANCE.entityId = entityId;
+        return INSTANCE;
+    }
+    
+    public int getEntityId() { return entityId; }
+}
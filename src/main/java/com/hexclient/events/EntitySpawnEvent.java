@@ -0,0 +1,21 @@
+package com.hexclient.events;
+
+import net.minecraft.entity.Entity;
+
+/**
+ * Posted when an entity is added to the client world
+ */
+public class EntitySpawnEvent extends Event {
+    
+    private static final EntitySpawnEvent INSTANCE = new EntitySpawnEvent();
+    
+    private Entity entity;
+    
+    public static EntitySpawnEvent get(Entity entity) {
+        INSTANCE.reset();
+        INSTANCE.entity = entity;
+        return INSTANCE;
+    }
+    
+    public Entity getEntity() { return entity; }
+}
@@ -0,0 +1,34 @@
+package com.hexclient.events;
+
+/**
+ * Base class for all HexClient events
+ * Event instances are reused by their posters, so handlers must not keep references to them
+ */
+public abstract class Event {
+    
+    private boolean cancelled = false;
+    
+    /**
+     * Whether this event can be cancelled by a handler
+     */
+    public boolean isCancellable() {
+        return false;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    public void cancel() {
+        if (isCancellable()) {
+            cancelled = true;
+        }
+    }
+    
+    /**
+     * Clear per-post state before the instance is reused
+     */
+    protected void reset() {
+        cancelled = false;
+    }
+}
@@ -0,0 +1,171 @@
+package com.hexclient.events;
+
+import com.hexclient.utils.FlightRecorder;
+import com.hexclient.utils.Logger;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typed event bus for HexClient
+ * Handler methods are bound once through LambdaMetafactory, so posting an event is a plain
+ * array walk with no reflection and no allocation
+ */
+public class EventBus {
+    
+    private static final EventListener<?>[] NO_LISTENERS = new EventListener<?>[0];
+    
+    // A handler that throws on every packet would otherwise flood the log
+    private static final Logger.RateLimiter HANDLER_ERRORS = Logger.rateLimited(5, TimeUnit.SECONDS);
+    
+    // Copy-on-write listener arrays per event type
+    private final Map<Class<?>, EventListener<?>[]> listeners = new ConcurrentHashMap<>();
+    
+    // Bound handlers per subscriber, kept so re-subscribing does not bind again
+    private final Map<Object, List<Binding>> bindings = new IdentityHashMap<>();
+    
+    /**
+     * Register every {@link EventHandler} method of the given object
+     */
+    public synchronized void subscribe(Object subscriber) {
+        for (Binding binding : getBindings(subscriber)) {
+            EventListener<?>[] current = listeners.getOrDefault(binding.eventType, NO_LISTENERS);
+            if (contains(current, binding.listener)) continue;
+            
+            EventListener<?>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = binding.listener;
+            listeners.put(binding.eventType, updated);
+        }
+    }
+    
+    /**
+     * Remove every handler previously registered for the given object
+     */
+    public synchronized void unsubscribe(Object subscriber) {
+        List<Binding> bound = bindings.get(subscriber);
+        if (bound == null) return;
+        
+        for (Binding binding : bound) {
+            EventListener<?>[] current = listeners.get(binding.eventType);
+            if (current == null || !contains(current, binding.listener)) continue;
+            
+            EventListener<?>[] updated = new EventListener<?>[current.length - 1];
+            int index = 0;
+            for (EventListener<?> listener : current) {
+                if (listener != binding.listener) {
+                    updated[index++] = listener;
+                }
+            }
+            
+            if (updated.length == 0) {
+                listeners.remove(binding.eventType);
+            } else {
+                listeners.put(binding.eventType, updated);
+            }
+        }
+    }
+    
+    /**
+     * Deliver an event to every registered handler for its exact type
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> E post(E event) {
+        EventListener<?>[] current = listeners.get(event.getClass());
+        if (current == null) return event;
+        
+        for (int i = 0; i < current.length; i++) {
+            try {
+                ((EventListener<E>) current[i]).handle(event);
+            } catch (Exception e) {
+                FlightRecorder.recordException(e);
+                HANDLER_ERRORS.error("Error handling {}", event.getClass().getSimpleName(), e);
+            }
+        }
+        return event;
+    }
+    
+    /**
+     * Whether any handler is registered for the given event type
+     */
+    public boolean hasListeners(Class<? extends Event> eventType) {
+        return listeners.containsKey(eventType);
+    }
+    
+    private List<Binding> getBindings(Object subscriber) {
+        List<Binding> bound = bindings.get(subscriber);
+        if (bound == null) {
+            bound = bind(subscriber);
+            bindings.put(subscriber, bound);
+        }
+        return bound;
+    }
+    
+    private static List<Binding> bind(Object subscriber) {
+        List<Binding> bound = new ArrayList<>();
+        
+        for (Class<?> type = subscriber.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(EventHandler.class)) continue;
+                
+                if (!isValidHandler(method)) {
+                    Logger.warn("Ignoring invalid event handler {}.{}", type.getSimpleName(), method.getName());
+                    continue;
+                }
+                
+                try {
+                    bound.add(new Binding(method.getParameterTypes()[0], createListener(subscriber, method)));
+                } catch (Throwable t) {
+                    Logger.error("Failed to bind event handler {}.{}", type.getSimpleName(), method.getName(), t);
+                }
+            }
+        }
+        
+        return bound;
+    }
+    
+    private static boolean isValidHandler(Method method) {
+        return !Modifier.isStatic(method.getModifiers())
+            && method.getReturnType() == void.class
+            && method.getParameterCount() == 1
+            && Event.class.isAssignableFrom(method.getParameterTypes()[0]);
+    }
+    
+    private static EventListener<?> createListener(Object subscriber, Method method) throws Throwable {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+        MethodHandle handle = lookup.unreflect(method);
+        
+        CallSite site = LambdaMetafactory.metafactory(
+            lookup,
+            "handle",
+            MethodType.methodType(EventListener.class, owner),
+            MethodType.methodType(void.class, Event.class),
+            handle,
+            MethodType.methodType(void.class, method.getParameterTypes()[0])
+        );
+        
+        return (EventListener<?>) site.getTarget().invoke(subscriber);
+    }
+    
+    private static boolean contains(EventListener<?>[] array, EventListener<?> listener) {
+        for (EventListener<?> candidate : array) {
+            if (candidate == listener) return true;
+        }
+        return false;
+    }
+    
+    private record Binding(Class<?> eventType, EventListener<?> listener) {
+    }
+}
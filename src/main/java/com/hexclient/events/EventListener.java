@@ -0,0 +1,9 @@
+package com.hexclient.events;
+
+/**
+ * Functional target that annotated handler methods are bound to
+ */
+@FunctionalInterface
+public interface EventListener<E extends Event> {
+    void handle(E event);
+}
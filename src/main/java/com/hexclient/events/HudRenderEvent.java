@@ -0,0 +1,24 @@
+package com.hexclient.events;
+
+import net.minecraft.client.util.math.MatrixStack;
+
+/**
+ * Posted after the in-game HUD has been rendered
+ */
+public class HudRenderEvent extends Event {
+    
+    private static final HudRenderEvent INSTANCE = new HudRenderEvent();
+    
+    private MatrixStack matrices;
+    private float tickDelta;
+    
+    public static HudRenderEvent get(MatrixStack matrices, float tickDelta) {
+        INSTANCE.reset();
+        INSTANCE.matrices = matrices;
+        INSTANCE.tickDelta = tickDelta;
+        return INSTANCE;
+    }
+    
+    public MatrixStack getMatrices() { return matrices; }
+    public float getTickDelta() { return tickDelta; }
+}
@@ -0,0 +1,35 @@
+package com.hexclient.events;
+
+/**
+ * Posted for every keyboard key action in the game window
+ */
+public class KeyPressEvent extends Event {
+    
+    private static final KeyPressEvent INSTANCE = new KeyPressEvent();
+    
+    private int key;
+    private int scancode;
+    private int action;
+    private int modifiers;
+    
+    public static KeyPressEvent get(int key, int scancode, int action, int modifiers) {
+        INSTANCE.reset();
+        INSTANCE.key = key;
+        INSTANCE.scancode = scancode;
+        INSTANCE.action = action;
+        INSTANCE.modifiers = modifiers;
+        return INSTANCE;
+    }
+    
+    /**
+     * GLFW key code
+     */
+    public int getKey() { return key; }
+    public int getScancode() { return scancode; }
+    
+    /**
+     * GLFW action: press, release or repeat
+     */
+    public int getAction() { return action; }
+    public int getModifiers() { return modifiers; }
+}
@@ -0,0 +1,30 @@
+package com.hexclient.events;
+
+import net.minecraft.network.packet.Packet;
+
+/**
+ * Posted for every play packet received from the server, before it is handled
+ * This event is posted on the network thread; cancelling it drops the packet.
+ * Unlike the client-thread events, one instance is kept per thread, since several
+ * connections can receive packets at once
+ */
+public class PacketReceiveEvent extends Event {
+    
+    private static final ThreadLocal<PacketReceiveEvent> INSTANCE = ThreadLocal.withInitial(PacketReceiveEvent::new);
+    
+    private Packet<?> packet;
+    
+    public static PacketReceiveEvent get(Packet<?> packet) {
+        PacketReceiveEvent event = INSTANCE.get();
+        event.reset();
+        event.packet = packet;
+        return event;
+    }
+    
+    @Override
+    public boolean isCancellable() {
+        return true;
+    }
+    
+    public Packet<?> getPacket() { return packet; }
+}
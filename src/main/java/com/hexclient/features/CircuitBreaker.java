@@ -0,0 +1,119 @@
+package com.hexclient.features;
+
+/**
+ * Failure tracking for a single feature
+ * After repeated consecutive failures the feature is suspended with exponential back-off,
+ * and after repeated suspensions it is disabled outright. Hook and background analysis
+ * failures are counted separately, since a feature can tick fine while its analysis keeps failing
+ */
+public class CircuitBreaker {
+    
+    /** Consecutive failures before the feature is suspended */
+    static final int FAILURE_THRESHOLD = 5;
+    
+    /** Suspensions before the feature is disabled */
+    static final int MAX_SUSPENSIONS = 4;
+    
+    /** Length of the first suspension; doubled for each further one */
+    static final int BASE_BACKOFF_TICKS = 20;
+    
+    public enum Outcome {
+        NONE,
+        SUSPENDED,
+        DISABLED
+    }
+    
+    private int consecutiveFailures = 0;
+    private int consecutiveAnalysisFailures = 0;
+    private int totalFailures = 0;
+    private int suspensions = 0;
+    private long suspendedUntilTick = 0;
+    private boolean suspended = false;
+    private boolean tripped = false;
+    private boolean traceLogged = false;
+    private Throwable lastFailure;
+    
+    /**
+     * Whether the feature should be skipped on the given tick; lifts an expired suspension
+     */
+    boolean isSuspended(long tick) {
+        if (suspended && tick >= suspendedUntilTick) {
+            suspended = false;
+            consecutiveFailures = 0;
+            consecutiveAnalysisFailures = 0;
+        }
+        return suspended;
+    }
+    
+    void recordSuccess() {
+        consecutiveFailures = 0;
+    }
+    
+    void recordAnalysisSuccess() {
+        consecutiveAnalysisFailures = 0;
+    }
+    
+    Outcome recordFailure(Throwable failure, long tick) {
+        return failed(failure, tick, ++consecutiveFailures);
+    }
+    
+    Outcome recordAnalysisFailure(Throwable failure, long tick) {
+        return failed(failure, tick, ++consecutiveAnalysisFailures);
+    }
+    
+    private Outcome failed(Throwable failure, long tick, int consecutive) {
+        lastFailure = failure;
+        totalFailures++;
+        
+        if (consecutive < FAILURE_THRESHOLD) {
+            return Outcome.NONE;
+        }
+        
+        if (++suspensions > MAX_SUSPENSIONS) {
+            tripped = true;
+            suspended = false;
+            return Outcome.DISABLED;
+        }
+        
+        suspended = true;
+        suspendedUntilTick = tick + getBackoffTicks();
+        return Outcome.SUSPENDED;
+    }
+    
+    /**
+     * Whether the full stack trace should be logged for this failure; only the first one is
+     */
+    boolean shouldLogTrace() {
+        if (traceLogged) return false;
+        traceLogged = true;
+        return true;
+    }
+    
+    /**
+     * Clear all state, for example when the user re-enables the feature
+     */
+    void reset() {
+        consecutiveFailures = 0;
+        consecutiveAnalysisFailures = 0;
+        totalFailures = 0;
+        suspensions = 0;
+        suspendedUntilTick = 0;
+        suspended = false;
+        tripped = false;
+        traceLogged = false;
+        lastFailure = null;
+    }
+    
+    /**
+     * Length of the current suspension in ticks
+     */
+    public int getBackoffTicks() {
+        return BASE_BACKOFF_TICKS << Math.max(0, suspensions - 1);
+    }
+    
+    public boolean isSuspended() { return suspended; }
+    public boolean isTripped() { return tripped; }
+    public int getTotalFailures() { return totalFailures; }
+    public int getSuspensions() { return suspensions; }
+    public Throwable getLastFailure() { return lastFailure; }
+}
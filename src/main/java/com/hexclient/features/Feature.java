@@ -1,52 +1,271 @@
 package com.hexclient.features;
 
 import com.hexclient.core.HexClient;
+import com.hexclient.features.settings.Setting;
+import com.hexclient.utils.FlightRecorder;
 import com.hexclient.utils.Logger;
+import net.minecraft.client.MinecraftClient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Base class for all HexClient features/modules
  */
 public abstract class Feature {
     
+    private static final Logger.RateLimiter ANALYSIS_ERRORS = Logger.rateLimited(5, TimeUnit.SECONDS);
+    
     protected final String name;
     protected final String description;
     protected final FeatureCategory category;
     protected boolean enabled = false;
     
-    public Feature(String name, String description, FeatureCategory category) {
-        this.name = name;
-        this.description = description;
-        this.category = category;
+    // Tick pipeline bookkeeping
+    private final Set<TickPhase> phases = EnumSet.noneOf(TickPhase.class);
+    private final long[] phaseRuns = new long[TickPhase.values().length];
+    private FeatureManager manager;
+    private int order = -1;
+    
+    // Tick scheduling: run every tickPeriod ticks, on the slot chosen by the scheduler
+    private int tickPeriod = 1;
+    private int tickOffset = 0;
+    private final List<PeriodicTask> periodicTasks = new ArrayList<>();
+    
+    // Off-thread analysis; the generation is bumped on disable so stale results are dropped
+    private final Set<CompletableFuture<?>> pendingAnalyses = ConcurrentHashMap.newKeySet();
+    private int analysisGeneration = 0;
+    
+    // Failure tracking for the dispatch loop
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    
+    // Settings in declaration order, persisted and shown in the GUI automatically
+    private final List<Setting<?>> settings = new ArrayList<>();
+    
+    /**
+     * Name, description and category come from the subclass's @FeatureInfo, through the
+     * descriptor FeatureManager is constructing, so they are only written in one place
+     */
+    protected Feature() {
+        FeatureDescriptor descriptor = FeatureDescriptor.constructing();
+        if (descriptor == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " must be created through FeatureManager");
+        }
+        this.name = descriptor.getName();
+        this.description = descriptor.getDescription();
+        this.category = descriptor.getCategory();
     }
     
     /**
      * Called when the feature is enabled
      */
     protected void onEnable() {
-        Logger.debug("Enabled feature: " + name);
+        Logger.debug("Enabled feature: {}", name);
     }
     
     /**
      * Called when the feature is disabled
      */
     protected void onDisable() {
-        Logger.debug("Disabled feature: " + name);
+        Logger.debug("Disabled feature: {}", name);
+    }
+    
+    /**
+     * Called at the start of every client tick when the feature is enabled
+     */
+    public void onPreTick() {
+        // Override in subclasses
     }
     
     /**
-     * Called every client tick when the feature is enabled
+     * Called at the end of every client tick when the feature is enabled
      */
     public void onTick() {
         // Override in subclasses
     }
     
     /**
-     * Called every render frame when the feature is enabled
+     * Called before the world is rendered each frame when the feature is enabled
+     */
+    public void onPreRender() {
+        // Override in subclasses
+    }
+    
+    /**
+     * Called after the world is rendered each frame when the feature is enabled
      */
     public void onRender() {
         // Override in subclasses
     }
     
+    /**
+     * Run an analysis off the client thread and apply its result back on the client thread
+     * The snapshot must be immutable or owned by the task; the result is dropped if the feature
+     * is disabled before it arrives, and pending work is cancelled on disable
+     */
+    protected <S, R> void submitAnalysis(S snapshot, Function<S, R> analysis, Consumer<R> apply) {
+        int generation = analysisGeneration;
+        CompletableFuture<R> future = CompletableFuture.supplyAsync(() -> analysis.apply(snapshot), FeatureExecutor.pool());
+        pendingAnalyses.add(future);
+        
+        future.whenComplete((result, error) -> MinecraftClient.getInstance().execute(() -> {
+            pendingAnalyses.remove(future);
+            
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (!(cause instanceof CancellationException) && enabled && generation == analysisGeneration) {
+                    reportAnalysisFailure(cause);
+                }
+                return;
+            }
+            
+            if (enabled && generation == analysisGeneration) {
+                try {
+                    apply.accept(result);
+                    circuitBreaker.recordAnalysisSuccess();
+                } catch (Exception e) {
+                    reportAnalysisFailure(e);
+                }
+            }
+        }));
+    }
+    
+    /**
+     * Count a failed analysis towards the circuit breaker, like a failing hook
+     */
+    private void reportAnalysisFailure(Throwable error) {
+        if (manager != null) {
+            manager.onAnalysisFailure(this, error);
+        } else {
+            FlightRecorder.recordException(order, error);
+            ANALYSIS_ERRORS.error("Error in background analysis for feature {}", name, error);
+        }
+    }
+    
+    /**
+     * Whether a background analysis submitted by this feature has not been applied yet
+     */
+    protected boolean hasPendingAnalysis() {
+        return !pendingAnalyses.isEmpty();
+    }
+    
+    private void cancelAnalyses() {
+        analysisGeneration++;
+        for (CompletableFuture<?> future : pendingAnalyses) {
+            future.cancel(false);
+        }
+        pendingAnalyses.clear();
+    }
+    
+    /**
+     * Run the tick hooks only every {@code ticks} ticks instead of every tick
+     * The manager staggers periodic features so expensive ones do not share a tick
+     */
+    protected void setTickPeriod(int ticks) {
+        int period = Math.max(1, Math.min(TickScheduler.HORIZON, ticks));
+        if (period != tickPeriod) {
+            tickPeriod = period;
+            if (manager != null) {
+                manager.onScheduleChanged(this);
+            }
+        }
+    }
+    
+    /**
+     * Run the tick hooks roughly once per the given time budget, rounded to whole ticks
+     */
+    protected void setTickPeriodMillis(long millis) {
+        setTickPeriod((int) Math.round(millis / 50.0));
+    }
+    
+    public int getTickPeriod() {
+        return tickPeriod;
+    }
+    
+    /**
+     * Register work that runs every {@code ticks} ticks from within a hook that runs every tick;
+     * intended for field initializers, e.g.
+     * {@code private final PeriodicTask scan = addPeriodicTask("Scan", 4);}
+     * and then {@code scan.runIfDue(this::scan)} in the hook
+     */
+    protected PeriodicTask addPeriodicTask(String name, int ticks) {
+        PeriodicTask task = new PeriodicTask(this, name, ticks);
+        periodicTasks.add(task);
+        return task;
+    }
+    
+    List<PeriodicTask> getPeriodicTasks() {
+        return periodicTasks;
+    }
+    
+    void onTaskScheduleChanged() {
+        if (manager != null) {
+            manager.onScheduleChanged(this);
+        }
+    }
+    
+    /**
+     * Current client tick, used to find periodic task slots; 0 before the feature is registered
+     */
+    long currentTick() {
+        return manager != null ? manager.getPhasePasses(TickPhase.PRE_TICK) : 0;
+    }
+    
+    int getTickOffset() {
+        return tickOffset;
+    }
+    
+    void setTickOffset(int tickOffset) {
+        this.tickOffset = tickOffset;
+    }
+    
+    /**
+     * Bind this feature to the manager that dispatches it
+     */
+    void attach(FeatureManager manager, int order) {
+        this.manager = manager;
+        this.order = order;
+    }
+    
+    /**
+     * Subscribe to every phase whose hook this feature overrides
+     */
+    void resolvePhases() {
+        phases.clear();
+        for (TickPhase phase : TickPhase.values()) {
+            try {
+                if (getClass().getMethod(phase.getHookName()).getDeclaringClass() != Feature.class) {
+                    phases.add(phase);
+                }
+            } catch (NoSuchMethodException e) {
+                Logger.error("Missing hook {} on feature {}", phase.getHookName(), name, e);
+            }
+        }
+    }
+    
+    /**
+     * Run the hook for a single phase
+     */
+    void runPhase(TickPhase phase) {
+        phaseRuns[phase.ordinal()]++;
+        switch (phase) {
+            case PRE_TICK -> onPreTick();
+            case POST_TICK -> onTick();
+            case PRE_RENDER -> onPreRender();
+            case POST_RENDER -> onRender();
+        }
+    }
+    
     /**
      * Toggle the feature on/off
      */
@@ -67,9 +286,10 @@ public abstract class Feature {
             try {
                 onEnable();
             } catch (Exception e) {
-                Logger.error("Error enabling feature " + name, e);
+                Logger.error("Error enabling feature {}", name, e);
                 enabled = false;
             }
+            notifyToggled();
         }
     }
     
@@ -79,11 +299,20 @@ public abstract class Feature {
     public void disable() {
         if (enabled) {
             enabled = false;
+            cancelAnalyses();
             try {
                 onDisable();
             } catch (Exception e) {
-                Logger.error("Error disabling feature " + name, e);
+                Logger.error("Error disabling feature {}", name, e);
             }
+            notifyToggled();
+        }
+    }
+    
+    private void notifyToggled() {
+        FlightRecorder.recordToggle(order, enabled);
+        if (manager != null) {
+            manager.onFeatureToggled(this);
         }
     }
     
@@ -104,6 +333,53 @@ public abstract class Feature {
         return enabled;
     }
     
+    /**
+     * Position of this feature in the manager's registration order, or -1 if unregistered
+     */
+    public int getOrder() {
+        return order;
+    }
+    
+    public boolean isSubscribed(TickPhase phase) {
+        return phases.contains(phase);
+    }
+    
+    /**
+     * Number of times this feature's hook has run for the given phase
+     */
+    public long getPhaseRuns(TickPhase phase) {
+        return phaseRuns[phase.ordinal()];
+    }
+    
+    /**
+     * Register a setting; intended for field initializers, e.g.
+     * {@code private final DoubleSetting range = addSetting(new DoubleSetting(...));}
+     */
+    protected <S extends Setting<?>> S addSetting(S setting) {
+        settings.add(setting);
+        return setting;
+    }
+    
+    public List<Setting<?>> getSettings() {
+        return Collections.unmodifiableList(settings);
+    }
+    
+    public Setting<?> getSetting(String name) {
+        for (Setting<?> setting : settings) {
+            if (setting.getName().equalsIgnoreCase(name)) {
+                return setting;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Failure state used by the manager to suspend features that keep throwing
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
     // Utility methods for features
     protected HexClient getClient() {
         return HexClient.getInstance();
@@ -0,0 +1,81 @@
+package com.hexclient.features;
+
+import java.util.function.Supplier;
+
+/**
+ * Lightweight registration entry for a feature
+ * The feature itself is only constructed the first time it is needed
+ */
+public final class FeatureDescriptor {
+    
+    // Descriptor whose factory is running, read by the Feature constructor
+    private static final ThreadLocal<FeatureDescriptor> CONSTRUCTING = new ThreadLocal<>();
+    
+    private final String name;
+    private final String description;
+    private final FeatureCategory category;
+    private final Supplier<? extends Feature> factory;
+    private final int order;
+    private Feature instance;
+    
+    FeatureDescriptor(String name, String description, FeatureCategory category,
+                      Supplier<? extends Feature> factory, int order) {
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.factory = factory;
+        this.order = order;
+    }
+    
+    Feature create() {
+        FeatureDescriptor outer = CONSTRUCTING.get();
+        CONSTRUCTING.set(this);
+        try {
+            return factory.get();
+        } finally {
+            CONSTRUCTING.set(outer);
+        }
+    }
+    
+    static FeatureDescriptor constructing() {
+        return CONSTRUCTING.get();
+    }
+    
+    void setInstance(Feature instance) {
+        this.instance = instance;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public FeatureCategory getCategory() {
+        return category;
+    }
+    
+    /**
+     * The feature's @FeatureInfo id; also used as the dispatch order
+     */
+    public int getOrder() {
+        return order;
+    }
+    
+    public boolean isLoaded() {
+        return instance != null;
+    }
+    
+    /**
+     * The constructed feature, or null if it has not been needed yet
+     */
+    public Feature getInstance() {
+        return instance;
+    }
+    
+    public boolean isEnabled() {
+        return instance != null && instance.isEnabled();
+    }
+}
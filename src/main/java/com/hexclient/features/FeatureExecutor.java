@@ -0,0 +1,38 @@
+package com.hexclient.features;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared worker pool for off-thread feature analysis
+ * Bounded to a few daemon threads so background work never competes with the render thread for every core
+ */
+public final class FeatureExecutor {
+    
+    private static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+        PARALLELISM,
+        pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("HexClient Worker-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        },
+        null,
+        true
+    );
+    
+    private FeatureExecutor() {
+    }
+    
+    public static ForkJoinPool pool() {
+        return POOL;
+    }
+    
+    public static int getParallelism() {
+        return PARALLELISM;
+    }
+}
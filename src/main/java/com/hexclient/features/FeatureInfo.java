@@ -0,0 +1,29 @@
+package com.hexclient.features;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registry metadata for a feature module
+ * Read at build time by the processor in the processor project, which generates
+ * GeneratedFeatureRegistry; ids must be unique and run from 0 without gaps.
+ * This is the only place a feature's name, description and category are written;
+ * the Feature constructor takes them from the generated registration.
+ * Class retention lets Gradle's incremental build see the annotation on compiled classes,
+ * which an aggregating processor needs
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface FeatureInfo {
+    
+    /** Stable id; also the feature's position in dispatch order */
+    int id();
+    
+    String name();
+    
+    String description();
+    
+    FeatureCategory category();
+}
@@ -1,12 +1,22 @@
 package com.hexclient.features;
 
-import com.hexclient.features.modules.*;
+import com.hexclient.config.ConfigManager;
+import com.hexclient.config.ConfigProfile;
+import com.hexclient.core.HexClient;
+import com.hexclient.events.EventBus;
+import com.hexclient.features.settings.Setting;
+import com.hexclient.utils.FlightRecorder;
 import com.hexclient.utils.Logger;
+import com.hexclient.utils.jfr.FeatureEvent;
+import com.hexclient.utils.jfr.FeatureRenderEvent;
+import com.hexclient.utils.jfr.FeatureTickEvent;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Feature manager for HexClient
@@ -14,115 +24,443 @@ import java.util.Map;
  */
 public class FeatureManager {
     
-    private final Map<String, Feature> features = new HashMap<>();
-    private final Map<FeatureCategory, List<Feature>> categorizedFeatures = new HashMap<>();
+    private final EventBus eventBus;
+    private final ConfigManager configManager;
+    private final FeatureProfiler profiler = new FeatureProfiler();
+    private final TickScheduler scheduler = new TickScheduler(profiler);
+    // Indexed by feature id
+    private final FeatureDescriptor[] descriptors = new FeatureDescriptor[GeneratedFeatureRegistry.COUNT];
+    private final Map<FeatureCategory, List<FeatureDescriptor>> categorizedDescriptors = new EnumMap<>(FeatureCategory.class);
+    
+    // Category lists are only built once the GUI first asks for them
+    private final Map<FeatureCategory, List<Feature>> categorizedFeatures = new EnumMap<>(FeatureCategory.class);
+    
+    // Copy-on-write dispatch arrays, rebuilt whenever a feature is toggled
+    private volatile Feature[][] dispatch = emptyDispatch();
+    private volatile Feature[] enabledFeatures = new Feature[0];
+    // Ids of enabled features, kept for profile diffs
+    private final BitSet enabledIds = new BitSet(GeneratedFeatureRegistry.COUNT);
+    // Set while a profile toggles several features, so dispatch is rebuilt once at the end
+    private boolean batchingToggles = false;
+    
+    // Tick pipeline counters, one slot per phase
+    private final long[] phasePasses = new long[TickPhase.values().length];
+    private final boolean[] phaseActive = new boolean[TickPhase.values().length];
+    private boolean pipelineMismatchReported = false;
+    private long lastFrameStart = 0;
+    // A longer gap between world frames means none were rendered, e.g. a loading screen, not a slow frame
+    private static final long MAX_FRAME_GAP_NANOS = 5_000_000_000L;
+    
+    public FeatureManager(EventBus eventBus, ConfigManager configManager) {
+        this.eventBus = eventBus;
+        this.configManager = configManager;
+    }
     
     public void initializeFeatures() {
         Logger.info("Initializing client features...");
+        long start = System.nanoTime();
+        
+        // Descriptors come from @FeatureInfo on each module, collected at build time
+        GeneratedFeatureRegistry.registerAll(this);
+        
+        // Modules are constructed lazily, so this only covers the descriptor table
+        profiler.ensureCapacity(descriptors.length);
+        Logger.info("Registered {} features in {} us", descriptors.length, (System.nanoTime() - start) / 1000);
+        
+        configManager.loadProfiles(getFeatureNames());
+        ConfigProfile active = configManager.getProfile(configManager.getActiveProfile());
+        if (active != null) {
+            applyProfile(active);
+        }
+    }
+    
+    /**
+     * Called by the generated registry, once per feature in id order
+     */
+    void register(int id, String name, String description, FeatureCategory category,
+                  Supplier<? extends Feature> factory) {
+        FeatureDescriptor descriptor = new FeatureDescriptor(name, description, category, factory, id);
+        descriptors[id] = descriptor;
+        categorizedDescriptors.computeIfAbsent(category, k -> new ArrayList<>()).add(descriptor);
+    }
+    
+    /**
+     * Construct the feature behind a descriptor if that has not happened yet
+     */
+    private Feature load(FeatureDescriptor descriptor) {
+        Feature feature = descriptor.getInstance();
+        if (feature != null) return feature;
+        
+        long start = System.nanoTime();
+        feature = descriptor.create();
+        
+        feature.resolvePhases();
+        feature.attach(this, descriptor.getOrder());
+        bindSettings(feature);
+        descriptor.setInstance(feature);
+        
+        Logger.debug("Loaded feature {} in {} us", descriptor.getName(), (System.nanoTime() - start) / 1000);
+        
+        if (feature.isEnabled()) {
+            enabledIds.set(feature.getOrder());
+            eventBus.subscribe(feature);
+            rebuildDispatch();
+        }
+        return feature;
+    }
+    
+    /**
+     * Load stored setting values, then persist every later change
+     */
+    private void bindSettings(Feature feature) {
+        List<Setting<?>> settings = feature.getSettings();
+        if (settings.isEmpty()) return;
+        
+        configManager.applySettings(feature.getName(), settings);
+        for (Setting<?> setting : settings) {
+            setting.addListener(value -> configManager.storeSettings(feature.getName(), settings));
+        }
+    }
+    
+    /**
+     * Called by a feature after it has been enabled or disabled
+     */
+    void onFeatureToggled(Feature feature) {
+        // Only enabled features receive events
+        if (feature.isEnabled()) {
+            // A manual re-enable gives the feature a clean slate
+            feature.getCircuitBreaker().reset();
+            eventBus.subscribe(feature);
+        } else {
+            eventBus.unsubscribe(feature);
+        }
+        enabledIds.set(feature.getOrder(), feature.isEnabled());
+        if (!batchingToggles) {
+            rebuildDispatch();
+        }
+    }
+    
+    /**
+     * Switch to a profile in one step on the client thread: settings first, so features enable
+     * with the profile's values, then only the features whose state differs are toggled.
+     * Profiles are preloaded, so nothing is read from disk here; the config save that records
+     * the new values happens later on the writer thread
+     */
+    public void applyProfile(ConfigProfile profile) {
+        long start = System.nanoTime();
+        
+        int settingsChanged = 0;
+        for (int id : profile.getConfiguredFeatures()) {
+            // Unloaded features pick the merged values up when they load
+            settingsChanged += configManager.mergeSettings(descriptors[id].getName(), profile.getSettings(id));
+        }
+        
+        BitSet toggles = profile.toggleDiff(enabledIds);
+        batchingToggles = true;
+        try {
+            for (int id = toggles.nextSetBit(0); id >= 0; id = toggles.nextSetBit(id + 1)) {
+                getFeature(id).toggle();
+            }
+        } finally {
+            batchingToggles = false;
+        }
+        if (!toggles.isEmpty()) {
+            rebuildDispatch();
+        }
+        
+        configManager.setActiveProfile(profile.getName());
+        if (profile.getConfiguredFeatures().length > 0) {
+            configManager.saveConfig();
+        }
+        Logger.info("Switched to profile {}: {} features toggled, {} settings changed, in {} us",
+            profile.getName(), toggles.cardinality(), settingsChanged, (System.nanoTime() - start) / 1000);
+    }
+    
+    /**
+     * Switch to the next (+1) or previous (-1) profile by name
+     */
+    public void cycleProfile(int direction) {
+        List<ConfigProfile> profiles = configManager.getProfiles();
+        if (profiles.isEmpty()) {
+            Logger.info("No config profiles found");
+            return;
+        }
         
-        // Combat Features (similar to Wurst, Meteor)
-        registerFeature(new AutoCrystal());
-        registerFeature(new KillAura());
-        registerFeature(new AntiKnockback());
-        registerFeature(new AutoTotem());
-        registerFeature(new CrystalAura());
-        registerFeature(new AutoArmor());
-        
-        // Advanced Bot-Fighting Features
-        registerFeature(new BotPvP());
-        registerFeature(new AutoDodge());
-        registerFeature(new BotDetector());
-        
-        // Movement Features
-        registerFeature(new Flight());
-        registerFeature(new Speed());
-        registerFeature(new NoFall());
-        registerFeature(new Sprint());
-        registerFeature(new AutoWalk());
-        registerFeature(new ElytraFly());
-        
-        // World Features
-        registerFeature(new Nuker());
-        registerFeature(new AutoMine());
-        registerFeature(new Scaffold());
-        registerFeature(new AutoBuild());
-        registerFeature(new ChestESP());
-        registerFeature(new XRay());
-        
-        // Advanced World Automation
-        registerFeature(new AutoBridge());
-        registerFeature(new AutoBedBreaker());
-        registerFeature(new FastPlace());
-        
-        // Visual Features (similar to Lunar, Badlion)
-        registerFeature(new FullBright());
-        registerFeature(new NoWeather());
-        registerFeature(new CustomSky());
-        registerFeature(new Zoom());
-        registerFeature(new FreeCam());
-        registerFeature(new ESP());
-        
-        // Performance Features
-        registerFeature(new FPSBoost());
-        registerFeature(new NoLag());
-        registerFeature(new EntityCulling());
-        registerFeature(new ChunkAnimator());
-        
-        // Misc Features
-        registerFeature(new AutoReconnect());
-        registerFeature(new ChatFilter());
-        registerFeature(new NameProtect());
-        registerFeature(new AntiAFK());
-        registerFeature(new AutoCollector());
-        
-        Logger.info("Initialized " + features.size() + " features");
-    }
-    
-    private void registerFeature(Feature feature) {
-        features.put(feature.getName().toLowerCase(), feature);
-        
-        FeatureCategory category = feature.getCategory();
-        categorizedFeatures.computeIfAbsent(category, k -> new ArrayList<>()).add(feature);
-        
-        Logger.debug("Registered feature: " + feature.getName());
+        int index = profiles.indexOf(configManager.getProfile(configManager.getActiveProfile()));
+        if (index < 0) {
+            index = direction > 0 ? -1 : 0;
+        }
+        applyProfile(profiles.get(Math.floorMod(index + direction, profiles.size())));
+    }
+    
+    /**
+     * Called by a feature after its tick period has changed
+     */
+    void onScheduleChanged(Feature feature) {
+        if (feature.isEnabled()) {
+            rebuildDispatch();
+        }
     }
     
+    /**
+     * Rebuild the per-phase arrays of enabled features, in id order
+     */
+    private synchronized void rebuildDispatch() {
+        TickPhase[] phases = TickPhase.values();
+        List<List<Feature>> byPhase = new ArrayList<>(phases.length);
+        for (int i = 0; i < phases.length; i++) {
+            byPhase.add(new ArrayList<>());
+        }
+        List<Feature> enabled = new ArrayList<>();
+        
+        for (FeatureDescriptor descriptor : descriptors) {
+            if (!descriptor.isEnabled()) continue;
+            
+            Feature feature = descriptor.getInstance();
+            enabled.add(feature);
+            for (TickPhase phase : phases) {
+                if (feature.isSubscribed(phase)) {
+                    byPhase.get(phase.ordinal()).add(feature);
+                }
+            }
+        }
+        
+        scheduler.assignOffsets(enabled);
+        
+        Feature[][] rebuilt = new Feature[phases.length][];
+        for (int i = 0; i < phases.length; i++) {
+            rebuilt[i] = byPhase.get(i).toArray(new Feature[0]);
+        }
+        
+        this.dispatch = rebuilt;
+        this.enabledFeatures = enabled.toArray(new Feature[0]);
+    }
+    
+    private static Feature[][] emptyDispatch() {
+        Feature[][] empty = new Feature[TickPhase.values().length][];
+        for (int i = 0; i < empty.length; i++) {
+            empty[i] = new Feature[0];
+        }
+        return empty;
+    }
+    
+    /**
+     * Look up a feature by name, constructing it on first use
+     */
     public Feature getFeature(String name) {
-        return features.get(name.toLowerCase());
+        int id = GeneratedFeatureRegistry.idOf(name);
+        return id >= 0 ? load(descriptors[id]) : null;
+    }
+    
+    /**
+     * Look up a feature by its @FeatureInfo id, constructing it on first use
+     */
+    public Feature getFeature(int id) {
+        return load(descriptors[id]);
     }
     
+    public FeatureDescriptor getDescriptor(String name) {
+        int id = GeneratedFeatureRegistry.idOf(name);
+        return id >= 0 ? descriptors[id] : null;
+    }
+    
+    /**
+     * Features in a category, constructing any that have not been loaded yet
+     */
     public List<Feature> getFeaturesByCategory(FeatureCategory category) {
-        return categorizedFeatures.getOrDefault(category, new ArrayList<>());
+        List<Feature> features = categorizedFeatures.get(category);
+        if (features == null) {
+            features = new ArrayList<>();
+            for (FeatureDescriptor descriptor : categorizedDescriptors.getOrDefault(category, new ArrayList<>())) {
+                features.add(load(descriptor));
+            }
+            categorizedFeatures.put(category, features);
+        }
+        return features;
+    }
+    
+    public List<FeatureDescriptor> getDescriptorsByCategory(FeatureCategory category) {
+        return categorizedDescriptors.getOrDefault(category, new ArrayList<>());
     }
     
+    /**
+     * Feature names indexed by id
+     */
+    public String[] getFeatureNames() {
+        String[] names = new String[descriptors.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = descriptors[i].getName();
+        }
+        return names;
+    }
+    
+    public List<FeatureDescriptor> getAllDescriptors() {
+        return List.of(descriptors);
+    }
+    
+    /**
+     * Features that have been constructed so far, in id order
+     */
     public List<Feature> getAllFeatures() {
-        return new ArrayList<>(features.values());
+        List<Feature> loaded = new ArrayList<>();
+        for (FeatureDescriptor descriptor : descriptors) {
+            if (descriptor.isLoaded()) {
+                loaded.add(descriptor.getInstance());
+            }
+        }
+        return loaded;
     }
     
-    public void onTick() {
-        for (Feature feature : features.values()) {
-            if (feature.isEnabled()) {
+    /**
+     * Enabled features in id order; the returned array must not be modified
+     */
+    public Feature[] getEnabledFeatures() {
+        return enabledFeatures;
+    }
+    
+    /**
+     * Run every enabled feature subscribed to the given phase exactly once
+     */
+    public void runPhase(TickPhase phase) {
+        int slot = phase.ordinal();
+        if (phaseActive[slot]) {
+            Logger.warn("Ignoring re-entrant dispatch of phase {}", phase);
+            return;
+        }
+        
+        if (phase == TickPhase.PRE_TICK) {
+            checkPipeline();
+        } else if (phase == TickPhase.PRE_RENDER) {
+            recordFrame();
+        }
+        
+        phaseActive[slot] = true;
+        long pass = ++phasePasses[slot];
+        long tick = phasePasses[TickPhase.PRE_TICK.ordinal()];
+        boolean tickPhase = phase == TickPhase.PRE_TICK || phase == TickPhase.POST_TICK;
+        try {
+            Feature[] active = dispatch[slot];
+            for (int i = 0; i < active.length; i++) {
+                Feature feature = active[i];
+                // A feature may have been disabled earlier in this pass
+                if (!feature.isEnabled()) continue;
+                
+                // Periodic features only run on their assigned tick slot
+                if (tickPhase && !TickScheduler.isDue(feature, pass)) continue;
+                
+                CircuitBreaker breaker = feature.getCircuitBreaker();
+                if (breaker.isSuspended(tick)) continue;
+                
+                // Free unless a JFR recording has the HexClient events enabled
+                FeatureEvent event = tickPhase ? new FeatureTickEvent() : new FeatureRenderEvent();
+                event.begin();
+                
+                long start = System.nanoTime();
                 try {
-                    feature.onTick();
+                    feature.runPhase(phase);
+                    breaker.recordSuccess();
                 } catch (Exception e) {
-                    Logger.error("Error in feature " + feature.getName(), e);
+                    onFeatureFailure(feature, phase, e, tick);
+                }
+                long elapsed = System.nanoTime() - start;
+                profiler.record(feature, phase, elapsed);
+                FlightRecorder.recordTick(feature.getOrder(), slot, elapsed);
+                
+                event.end();
+                if (event.shouldCommit()) {
+                    event.feature = feature.getName();
+                    event.phase = phase.name();
+                    event.entityCount = snapshotSize();
+                    event.commit();
                 }
             }
+        } finally {
+            phaseActive[slot] = false;
         }
     }
     
-    public void onRender() {
-        for (Feature feature : features.values()) {
-            if (feature.isEnabled()) {
-                try {
-                    feature.onRender();
-                } catch (Exception e) {
-                    Logger.error("Error rendering feature " + feature.getName(), e);
-                }
+    private void onFeatureFailure(Feature feature, TickPhase phase, Exception e, long tick) {
+        onFailure(feature, "during " + phase, e, feature.getCircuitBreaker().recordFailure(e, tick));
+    }
+    
+    /**
+     * Called on the client thread when a feature's background analysis, or applying its result, fails
+     */
+    void onAnalysisFailure(Feature feature, Throwable e) {
+        long tick = phasePasses[TickPhase.PRE_TICK.ordinal()];
+        onFailure(feature, "in background analysis", e, feature.getCircuitBreaker().recordAnalysisFailure(e, tick));
+    }
+    
+    /**
+     * Log the first failure in full, then stay quiet until the breaker suspends or disables the feature
+     */
+    private void onFailure(Feature feature, String context, Throwable e, CircuitBreaker.Outcome outcome) {
+        FlightRecorder.recordException(feature.getOrder(), e);
+        
+        CircuitBreaker breaker = feature.getCircuitBreaker();
+        if (breaker.shouldLogTrace()) {
+            Logger.error("Error in feature {} {}", feature.getName(), context, e);
+        }
+        
+        switch (outcome) {
+            case SUSPENDED -> Logger.warn("Suspended feature {} for {} ticks after {} consecutive failures {} ({} total, last: {})",
+                feature.getName(), breaker.getBackoffTicks(), CircuitBreaker.FAILURE_THRESHOLD, context,
+                breaker.getTotalFailures(), e.toString());
+            case DISABLED -> {
+                Logger.warn("Disabled feature {} after {} suspensions ({} failures, last: {})",
+                    feature.getName(), CircuitBreaker.MAX_SUSPENSIONS, breaker.getTotalFailures(), e.toString());
+                feature.disable();
             }
+            case NONE -> { }
         }
     }
     
+    private static int snapshotSize() {
+        HexClient client = HexClient.getInstance();
+        return client != null ? client.getWorldSnapshot().size() : 0;
+    }
+    
+    /**
+     * Frame time is measured between successive pre-render passes
+     */
+    private void recordFrame() {
+        long now = System.nanoTime();
+        if (lastFrameStart != 0 && now - lastFrameStart <= MAX_FRAME_GAP_NANOS) {
+            FlightRecorder.recordFrame(now - lastFrameStart);
+        }
+        lastFrameStart = now;
+    }
+    
+    /**
+     * Start frame timing afresh, for when world rendering resumes after a join or dimension change
+     */
+    public void resetFrameTiming() {
+        lastFrameStart = 0;
+    }
+    
+    /**
+     * Every tick must see exactly one pre-tick and one post-tick pass
+     */
+    private void checkPipeline() {
+        long preTicks = phasePasses[TickPhase.PRE_TICK.ordinal()];
+        long postTicks = phasePasses[TickPhase.POST_TICK.ordinal()];
+        if (preTicks != postTicks && !pipelineMismatchReported) {
+            pipelineMismatchReported = true;
+            Logger.warn("Tick pipeline out of step: {} pre-tick passes, {} post-tick passes", preTicks, postTicks);
+        }
+    }
+    
+    public FeatureProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * Number of passes made over the given phase since startup
+     */
+    public long getPhasePasses(TickPhase phase) {
+        return phasePasses[phase.ordinal()];
+    }
+    
     public void toggleFeature(String name) {
         Feature feature = getFeature(name);
         if (feature != null) {
@@ -0,0 +1,94 @@
+package com.hexclient.features;
+
+import java.util.Arrays;
+
+/**
+ * Per-feature timing profiler
+ * Keeps a fixed-size ring buffer of hook durations for every feature and phase, so recording a sample never allocates
+ */
+public class FeatureProfiler {
+    
+    /** Number of samples kept per feature and phase */
+    public static final int WINDOW = 128;
+    
+    private static final int PHASES = TickPhase.values().length;
+    
+    // [feature order][phase][sample]
+    private long[][][] samples = new long[0][][];
+    private int[][] counts = new int[0][];
+    
+    private final long[] scratch = new long[WINDOW];
+    
+    /**
+     * Make room for a newly registered feature
+     */
+    void ensureCapacity(int featureCount) {
+        if (featureCount <= samples.length) return;
+        
+        int oldLength = samples.length;
+        samples = Arrays.copyOf(samples, featureCount);
+        counts = Arrays.copyOf(counts, featureCount);
+        for (int i = oldLength; i < featureCount; i++) {
+            samples[i] = new long[PHASES][WINDOW];
+            counts[i] = new int[PHASES];
+        }
+    }
+    
+    /**
+     * Record how long a feature's hook took for one phase
+     */
+    void record(Feature feature, TickPhase phase, long nanos) {
+        int order = feature.getOrder();
+        if (order < 0 || order >= samples.length) return;
+        
+        int slot = phase.ordinal();
+        int count = counts[order][slot]++;
+        samples[order][slot][count % WINDOW] = nanos;
+        
+        // Keep the counter bounded while preserving the ring position
+        if (count == Integer.MAX_VALUE - 1) {
+            counts[order][slot] = WINDOW + (count + 1) % WINDOW;
+        }
+    }
+    
+    /**
+     * Rolling statistics for a feature's hook over the last {@link #WINDOW} samples
+     */
+    public synchronized Stats getStats(Feature feature, TickPhase phase) {
+        int order = feature.getOrder();
+        if (order < 0 || order >= samples.length) return Stats.EMPTY;
+        
+        int size = Math.min(counts[order][phase.ordinal()], WINDOW);
+        if (size == 0) return Stats.EMPTY;
+        
+        System.arraycopy(samples[order][phase.ordinal()], 0, scratch, 0, size);
+        Arrays.sort(scratch, 0, size);
+        
+        return new Stats(
+            scratch[percentileIndex(size, 0.50)],
+            scratch[percentileIndex(size, 0.99)],
+            scratch[size - 1],
+            size
+        );
+    }
+    
+    /**
+     * Clear all recorded samples
+     */
+    public void reset() {
+        for (int[] featureCounts : counts) {
+            Arrays.fill(featureCounts, 0);
+        }
+    }
+    
+    private static int percentileIndex(int size, double percentile) {
+        return Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+    }
+    
+    /**
+     * Timing summary in nanoseconds
+     */
+    public record Stats(long p50, long p99, long max, int samples) {
+        public static final Stats EMPTY = new Stats(0, 0, 0, 0);
+    }
+}
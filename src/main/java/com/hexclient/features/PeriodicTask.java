@@ -0,0 +1,68 @@
+package com.hexclient.features;
+
+/**
+ * Expensive work inside a feature's tick hook that only needs to run every few ticks
+ * Created with {@link Feature#addPeriodicTask}; the scheduler staggers tasks together with
+ * periodic features, so the hook itself keeps running every tick while the task runs on its slot
+ */
+public final class PeriodicTask {
+    
+    private final Feature owner;
+    private final String name;
+    private int period;
+    private int offset = 0;
+    // Smoothed run time, used by the scheduler to place expensive tasks first
+    private long costNanos = 0;
+    
+    PeriodicTask(Feature owner, String name, int period) {
+        this.owner = owner;
+        this.name = name;
+        this.period = Math.max(1, period);
+    }
+    
+    /**
+     * Run the work if this tick is the task's slot
+     *
+     * @return whether the work ran
+     */
+    public boolean runIfDue(Runnable work) {
+        if (period > 1 && owner.currentTick() % period != offset) return false;
+        
+        long start = System.nanoTime();
+        work.run();
+        long elapsed = System.nanoTime() - start;
+        costNanos = costNanos == 0 ? elapsed : costNanos + (elapsed - costNanos) / 8;
+        return true;
+    }
+    
+    /**
+     * Change how often the task runs, e.g. when the setting behind it changes
+     */
+    public void setPeriod(int ticks) {
+        int updated = Math.max(1, ticks);
+        if (updated != period) {
+            period = updated;
+            owner.onTaskScheduleChanged();
+        }
+    }
+    
+    public int getPeriod() {
+        return period;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    int getOffset() {
+        return offset;
+    }
+    
+    void setOffset(int offset) {
+        this.offset = offset;
+    }
+    
+    long getCostNanos() {
+        return costNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hexclient.features;
+
+/**
+ * Phases of the client loop that features can hook into
+ * Each phase is driven from exactly one place, so a feature runs at most once per phase per tick/frame
+ */
+public enum TickPhase {
+    PRE_TICK("onPreTick"),
+    POST_TICK("onTick"),
+    PRE_RENDER("onPreRender"),
+    POST_RENDER("onRender");
+    
+    private final String hookName;
+    
+    TickPhase(String hookName) {
+        this.hookName = hookName;
+    }
+    
+    /**
+     * Name of the {@link Feature} method that handles this phase
+     */
+    public String getHookName() {
+        return hookName;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hexclient.features;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Spreads features and periodic tasks that run less often than every tick across tick slots
+ * Expensive work is placed first, each on the offset whose ticks carry the least load so far
+ */
+public class TickScheduler {
+    
+    /** Ticks over which slot load is balanced; divisible by all common periods */
+    static final int HORIZON = 120;
+    
+    private final FeatureProfiler profiler;
+    private final long[] slotLoad = new long[HORIZON];
+    
+    public TickScheduler(FeatureProfiler profiler) {
+        this.profiler = profiler;
+    }
+    
+    /**
+     * Assign a tick offset to every periodic feature in the given list, and to every periodic
+     * task those features have registered
+     */
+    void assignOffsets(List<Feature> features) {
+        Arrays.fill(slotLoad, 0);
+        
+        List<Slotted> periodic = new ArrayList<>();
+        for (Feature feature : features) {
+            if (feature.getTickPeriod() > 1) {
+                periodic.add(new Slotted(feature.getTickPeriod(), estimateCost(feature), feature::setTickOffset));
+            } else {
+                feature.setTickOffset(0);
+            }
+            for (PeriodicTask task : feature.getPeriodicTasks()) {
+                if (task.getPeriod() > 1) {
+                    periodic.add(new Slotted(task.getPeriod(), task.getCostNanos() + 1, task::setOffset));
+                } else {
+                    task.setOffset(0);
+                }
+            }
+        }
+        
+        // Place the most expensive work first so it gets the emptiest slots
+        periodic.sort((a, b) -> Long.compare(b.cost(), a.cost()));
+        
+        for (Slotted work : periodic) {
+            int period = work.period();
+            
+            // Periods longer than the horizon are balanced over its first ticks only
+            int bestOffset = 0;
+            long bestLoad = Long.MAX_VALUE;
+            for (int offset = 0; offset < Math.min(period, HORIZON); offset++) {
+                long load = 0;
+                for (int tick = offset; tick < HORIZON; tick += period) {
+                    load = Math.max(load, slotLoad[tick]);
+                }
+                if (load < bestLoad) {
+                    bestLoad = load;
+                    bestOffset = offset;
+                }
+            }
+            
+            for (int tick = bestOffset; tick < HORIZON; tick += period) {
+                slotLoad[tick] += work.cost();
+            }
+            work.assign().accept(bestOffset);
+        }
+    }
+    
+    /**
+     * A periodic feature or task waiting for a slot
+     */
+    private record Slotted(int period, long cost, IntConsumer assign) {
+    }
+    
+    /**
+     * Whether a feature is due to run on the given tick
+     */
+    static boolean isDue(Feature feature, long tick) {
+        int period = feature.getTickPeriod();
+        return period <= 1 || tick % period == feature.getTickOffset();
+    }
+    
+    private long estimateCost(Feature feature) {
+        // Measured tick time when available, otherwise treat every feature alike
+        return profiler.getStats(feature, TickPhase.POST_TICK).p50() + 1;
+    }
+}
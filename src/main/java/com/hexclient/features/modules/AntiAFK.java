@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 37, name = "AntiAFK", description = "Prevents AFK kicks", category = FeatureCategory.MISC)
 public class AntiAFK extends Feature {
-    public AntiAFK() {
-        super("AntiAFK", "Prevents AFK kicks", FeatureCategory.MISC);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 2, name = "AntiKnockback", description = "Reduces or eliminates knockback", category = FeatureCategory.COMBAT)
 public class AntiKnockback extends Feature {
-    public AntiKnockback() {
-        super("AntiKnockback", "Reduces or eliminates knockback", FeatureCategory.COMBAT);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 5, name = "AutoArmor", description = "Automatically equips the best armor", category = FeatureCategory.COMBAT)
 public class AutoArmor extends Feature {
-    public AutoArmor() {
-        super("AutoArmor", "Automatically equips the best armor", FeatureCategory.COMBAT);
-    }
 }
\ No newline at end of file
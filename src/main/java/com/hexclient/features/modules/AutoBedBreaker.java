@@ -2,6 +2,10 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.features.PeriodicTask;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.BedBlock;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
@@ -11,7 +15,6 @@ import net.minecraft.item.Items;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 
@@ -22,6 +25,7 @@ import java.util.List;
  * AutoBedBreaker - Automatic bed breaking with bot-level speed and precision
  * Optimized for Bedwars gameplay
  */
+@FeatureInfo(id = 22, name = "AutoBedBreaker", description = "Automatically breaks beds with perfect timing", category = FeatureCategory.COMBAT)
 public class AutoBedBreaker extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -41,16 +45,22 @@ public class AutoBedBreaker extends Feature {
     private int breakingTicks = 0;
     private List<BlockPos> queuedBeds = new ArrayList<>();
     
-    public AutoBedBreaker() {
-        super("AutoBedBreaker", "Automatically breaks beds with perfect timing", FeatureCategory.COMBAT);
-    }
+    // The bed scan walks a full cube of blocks, so it runs every other tick; breaking runs every tick
+    private final PeriodicTask bedScan = addPeriodicTask("Bed Scan", 2);
+    private List<BlockPos> nearbyBeds = new ArrayList<>();
+    
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
     
     @Override
     public void onTick() {
         if (mc.player == null || mc.world == null) return;
         
-        // Find beds to break
-        List<BlockPos> beds = findNearbyBeds();
+        // Find beds to break; between scans, drop beds that have been broken since
+        if (!bedScan.runIfDue(() -> nearbyBeds = findNearbyBeds())) {
+            nearbyBeds.removeIf(pos -> !(mc.world.getBlockState(pos).getBlock() instanceof BedBlock));
+        }
+        List<BlockPos> beds = nearbyBeds;
         
         if (!beds.isEmpty()) {
             // Select the best bed to target
@@ -305,10 +315,17 @@ public class AutoBedBreaker extends Feature {
     
     private boolean hasNearbyEnemyPlayers(BlockPos bedPos, double checkRange) {
         Vec3d bedCenter = Vec3d.ofCenter(bedPos);
-        Box searchBox = new Box(bedCenter.subtract(checkRange, checkRange, checkRange),
-                               bedCenter.add(checkRange, checkRange, checkRange));
-        
-        return !mc.world.getOtherEntities(mc.player, searchBox).isEmpty();
+        getClient().getSpatialIndex().queryBox(bedCenter.x - checkRange, bedCenter.y - checkRange, bedCenter.z - checkRange,
+                                               bedCenter.x + checkRange, bedCenter.y + checkRange, bedCenter.z + checkRange,
+                                               candidates);
+        
+        WorldSnapshot snapshot = getClient().getWorldSnapshot();
+        for (int j = 0; j < candidates.size(); j++) {
+            if (snapshot.is(candidates.getInt(j), WorldSnapshot.PLAYER)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     private void processQueuedBeds() {
@@ -2,6 +2,7 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
 import net.minecraft.client.MinecraftClient;
@@ -17,6 +18,7 @@ import net.minecraft.util.math.Vec3d;
  * AutoBridge - Automatic bridging for Bedwars and other games
  * Provides bot-level bridging speed and accuracy
  */
+@FeatureInfo(id = 21, name = "AutoBridge", description = "Automatic bridging with bot-level precision", category = FeatureCategory.WORLD)
 public class AutoBridge extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -58,10 +60,6 @@ public class AutoBridge extends Feature {
         }
     }
     
-    public AutoBridge() {
-        super("AutoBridge", "Automatic bridging with bot-level precision", FeatureCategory.WORLD);
-    }
-    
     @Override
     public void onTick() {
         if (mc.player == null || mc.world == null) return;
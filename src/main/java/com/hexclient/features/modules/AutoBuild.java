@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 18, name = "AutoBuild", description = "Automatically builds structures", category = FeatureCategory.WORLD)
 public class AutoBuild extends Feature {
-    public AutoBuild() {
-        super("AutoBuild", "Automatically builds structures", FeatureCategory.WORLD);
-    }
 }
\ No newline at end of file
@@ -2,15 +2,17 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.features.PeriodicTask;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.block.Block;
 import net.minecraft.block.Blocks;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.ItemEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
-import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
 import java.util.*;
@@ -19,6 +21,7 @@ import java.util.*;
  * AutoCollector - Automated resource collection with bot-level efficiency
  * Optimized for Bedwars, Skywars, and resource gathering
  */
+@FeatureInfo(id = 38, name = "AutoCollector", description = "Automated item collection with bot efficiency", category = FeatureCategory.MISC)
 public class AutoCollector extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -41,8 +44,13 @@ public class AutoCollector extends Feature {
     private int itemsCollected = 0;
     private List<ItemEntity> targetItems = new ArrayList<>();
     
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
+    
+    // Item scans and inventory management do not need 20 Hz; pulling and approaching items does
+    private final PeriodicTask scan = addPeriodicTask("Item Scan", 2);
+    
     public AutoCollector() {
-        super("AutoCollector", "Automated item collection with bot efficiency", FeatureCategory.MISC);
         initializeItemPriorities();
         initializeTrashItems();
     }
@@ -51,20 +59,22 @@ public class AutoCollector extends Feature {
     public void onTick() {
         if (mc.player == null || mc.world == null) return;
         
-        // Find nearby items
-        findNearbyItems();
+        // Find nearby items, sort inventory and drop trash items
+        scan.runIfDue(this::scanAndManageInventory);
         
         // Collect items
         if (autoPickup) {
             collectItems();
         }
+    }
+    
+    private void scanAndManageInventory() {
+        findNearbyItems();
         
-        // Sort inventory
         if (autoSort) {
             sortInventory();
         }
         
-        // Drop trash items
         if (dropTrash) {
             dropTrashItems();
         }
@@ -126,20 +136,22 @@ public class AutoCollector extends Feature {
         if (mc.player == null || mc.world == null) return;
         
         targetItems.clear();
+        WorldSnapshot snapshot = getClient().getWorldSnapshot();
         Vec3d playerPos = mc.player.getPos();
-        Box searchBox = new Box(playerPos.subtract(range, range, range),
-                               playerPos.add(range, range, range));
-        
-        List<Entity> entities = mc.world.getOtherEntities(mc.player, searchBox);
-        
-        for (Entity entity : entities) {
-            if (entity instanceof ItemEntity itemEntity) {
-                ItemStack stack = itemEntity.getStack();
-                
-                // Check if item is worth collecting
-                if (isWorthCollecting(stack)) {
-                    targetItems.add(itemEntity);
-                }
+        
+        getClient().getSpatialIndex().queryBox(playerPos.x - range, playerPos.y - range, playerPos.z - range,
+                                               playerPos.x + range, playerPos.y + range, playerPos.z + range, candidates);
+        
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidates.getInt(j);
+            if (!snapshot.is(i, WorldSnapshot.ITEM)) continue;
+            
+            ItemEntity itemEntity = (ItemEntity) snapshot.entity(i);
+            ItemStack stack = itemEntity.getStack();
+            
+            // Check if item is worth collecting
+            if (isWorthCollecting(stack)) {
+                targetItems.add(itemEntity);
             }
         }
         
@@ -205,6 +217,8 @@ public class AutoCollector extends Feature {
         int collected = 0;
         for (ItemEntity itemEntity : targetItems) {
             if (collected >= collectionSpeed) break;
+            // Targets are refreshed every other tick, so some may have been picked up since
+            if (itemEntity.isRemoved()) continue;
             
             if (magnetMode) {
                 magnetItem(itemEntity);
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 0, name = "AutoCrystal", description = "Automatically places and detonates end crystals", category = FeatureCategory.COMBAT)
 public class AutoCrystal extends Feature {
-    public AutoCrystal() {
-        super("AutoCrystal", "Automatically places and detonates end crystals", FeatureCategory.COMBAT);
-    }
 }
\ No newline at end of file
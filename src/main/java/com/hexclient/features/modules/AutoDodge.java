@@ -2,17 +2,22 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.projectile.ProjectileEntity;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * AutoDodge - Automatic projectile and attack dodging
  * Provides bot-level evasion capabilities
  */
+@FeatureInfo(id = 7, name = "AutoDodge", description = "Automatic dodging with bot-level reflexes", category = FeatureCategory.COMBAT)
 public class AutoDodge extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -31,38 +36,55 @@ public class AutoDodge extends Feature {
     private boolean strafeDodge = true;
     private boolean backwardDodge = true;
     
-    public AutoDodge() {
-        super("AutoDodge", "Automatic dodging with bot-level reflexes", FeatureCategory.COMBAT);
-    }
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
     
     @Override
     public void onTick() {
         if (mc.player == null || mc.world == null) return;
         
-        // Detect incoming threats
-        List<Entity> threats = detectThreats();
+        // Wait for the previous trajectory analysis to be applied
+        if (hasPendingAnalysis()) return;
         
-        if (!threats.isEmpty()) {
-            // Calculate best dodge direction
-            Vec3d dodgeDirection = calculateDodgeDirection(threats);
-            
-            if (dodgeDirection != null) {
-                executeDodge(dodgeDirection);
-            }
+        // Capture incoming projectiles, then analyze their trajectories off-thread
+        ThreatSnapshot snapshot = captureThreats();
+        if (snapshot.count() > 0) {
+            submitAnalysis(snapshot, AutoDodge::analyzeThreats, this::applyDodge);
         }
     }
     
-    private List<Entity> detectThreats() {
-        if (mc.player == null || mc.world == null) return List.of();
-        
+    private ThreatSnapshot captureThreats() {
+        WorldSnapshot world = getClient().getWorldSnapshot();
         Vec3d playerPos = mc.player.getPos();
+        Box searchBox = mc.player.getBoundingBox().expand(detectionRange);
         
-        return mc.world.getOtherEntities(mc.player, 
-            mc.player.getBoundingBox().expand(detectionRange))
-            .stream()
-            .filter(this::isThreat)
-            .filter(entity -> isHeadingTowardsPlayer(entity))
-            .toList();
+        getClient().getSpatialIndex().queryBox(searchBox.minX, searchBox.minY, searchBox.minZ,
+                                               searchBox.maxX, searchBox.maxY, searchBox.maxZ, candidates);
+        
+        double[] motion = null;
+        int count = 0;
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidates.getInt(j);
+            if (!world.is(i, WorldSnapshot.PROJECTILE)) continue;
+            if (!isThreat(world.entity(i))) continue;
+            
+            if (motion == null) {
+                motion = new double[6 * 8];
+            } else if ((count + 1) * 6 > motion.length) {
+                motion = Arrays.copyOf(motion, motion.length * 2);
+            }
+            
+            int base = count * 6;
+            motion[base] = world.x(i);
+            motion[base + 1] = world.y(i);
+            motion[base + 2] = world.z(i);
+            motion[base + 3] = world.velocityX(i);
+            motion[base + 4] = world.velocityY(i);
+            motion[base + 5] = world.velocityZ(i);
+            count++;
+        }
+        
+        return new ThreatSnapshot(playerPos, motion, count, predictiveDodging);
     }
     
     private boolean isThreat(Entity entity) {
@@ -87,34 +109,51 @@ public class AutoDodge extends Feature {
         return false;
     }
     
-    private boolean isHeadingTowardsPlayer(Entity entity) {
-        if (mc.player == null) return false;
+    /**
+     * Runs on a worker thread: find the projectiles heading for the player and
+     * return the normalized combined threat direction, or null if nothing is incoming
+     */
+    private static Vec3d analyzeThreats(ThreatSnapshot snapshot) {
+        Vec3d playerPos = snapshot.playerPos();
+        double[] motion = snapshot.motion();
+        Vec3d totalThreatDirection = Vec3d.ZERO;
+        boolean threatened = false;
         
-        Vec3d entityPos = entity.getPos();
-        Vec3d playerPos = mc.player.getPos();
-        Vec3d entityVelocity = entity.getVelocity();
+        for (int i = 0; i < snapshot.count(); i++) {
+            int base = i * 6;
+            Vec3d threatPos = new Vec3d(motion[base], motion[base + 1], motion[base + 2]);
+            Vec3d threatVelocity = new Vec3d(motion[base + 3], motion[base + 4], motion[base + 5]);
+            
+            if (!isHeadingTowardsPlayer(threatPos, threatVelocity, playerPos, snapshot.predictive())) continue;
+            threatened = true;
+            
+            // Predict where threat will be
+            Vec3d predictedThreatPos = threatPos.add(threatVelocity.multiply(10));
+            
+            Vec3d threatDirection = predictedThreatPos.subtract(playerPos).normalize();
+            totalThreatDirection = totalThreatDirection.add(threatDirection);
+        }
+        
+        if (!threatened || totalThreatDirection.length() == 0) return null;
+        
+        return totalThreatDirection.normalize();
+    }
+    
+    private static boolean isHeadingTowardsPlayer(Vec3d entityPos, Vec3d entityVelocity, Vec3d playerPos, boolean predictive) {
+        // If predictive dodging is enabled, predict future collision
+        if (predictive) {
+            return willCollideWithPlayer(entityPos, entityVelocity, playerPos);
+        }
         
         // Check if entity is moving towards player
         Vec3d directionToPlayer = playerPos.subtract(entityPos).normalize();
         Vec3d entityDirection = entityVelocity.normalize();
         
         double dot = entityDirection.dotProduct(directionToPlayer);
-        
-        // If predictive dodging is enabled, predict future collision
-        if (predictiveDodging) {
-            return willCollideWithPlayer(entity);
-        }
-        
         return dot > 0.5; // Entity is generally moving towards player
     }
     
-    private boolean willCollideWithPlayer(Entity entity) {
-        if (mc.player == null) return false;
-        
-        Vec3d entityPos = entity.getPos();
-        Vec3d entityVelocity = entity.getVelocity();
-        Vec3d playerPos = mc.player.getPos();
-        
+    private static boolean willCollideWithPlayer(Vec3d entityPos, Vec3d entityVelocity, Vec3d playerPos) {
         // Predict entity position over next few ticks
         for (int ticks = 1; ticks <= 20; ticks++) {
             Vec3d futureEntityPos = entityPos.add(entityVelocity.multiply(ticks));
@@ -128,29 +167,19 @@ public class AutoDodge extends Feature {
         return false;
     }
     
-    private Vec3d calculateDodgeDirection(List<Entity> threats) {
-        if (mc.player == null || threats.isEmpty()) return null;
-        
-        Vec3d playerPos = mc.player.getPos();
-        Vec3d totalThreatDirection = Vec3d.ZERO;
-        
-        // Calculate combined threat direction
-        for (Entity threat : threats) {
-            Vec3d threatPos = threat.getPos();
-            Vec3d threatVelocity = threat.getVelocity();
-            
-            // Predict where threat will be
-            Vec3d predictedThreatPos = threatPos.add(threatVelocity.multiply(10));
-            
-            Vec3d threatDirection = predictedThreatPos.subtract(playerPos).normalize();
-            totalThreatDirection = totalThreatDirection.add(threatDirection);
+    /**
+     * Runs on the client thread with the result of {@link #analyzeThreats}
+     */
+    private void applyDodge(Vec3d averageThreatDirection) {
+        if (averageThreatDirection == null || mc.player == null) return;
+        
+        Vec3d dodgeDirection = calculateDodgeDirection(averageThreatDirection);
+        if (dodgeDirection != null) {
+            executeDodge(dodgeDirection);
         }
-        
-        if (totalThreatDirection.length() == 0) return null;
-        
-        // Calculate optimal dodge direction (perpendicular to threat)
-        Vec3d averageThreatDirection = totalThreatDirection.normalize();
-        
+    }
+    
+    private Vec3d calculateDodgeDirection(Vec3d averageThreatDirection) {
         // Create perpendicular directions
         Vec3d leftDodge = new Vec3d(-averageThreatDirection.z, 0, averageThreatDirection.x);
         Vec3d rightDodge = new Vec3d(averageThreatDirection.z, 0, -averageThreatDirection.x);
@@ -268,4 +297,11 @@ public class AutoDodge extends Feature {
     
     public boolean isBackwardDodge() { return backwardDodge; }
     public void setBackwardDodge(boolean backwardDodge) { this.backwardDodge = backwardDodge; }
+    
+    /**
+     * Immutable projectile state handed to the worker thread
+     * Motion holds x, y, z, vx, vy, vz for each threat
+     */
+    private record ThreatSnapshot(Vec3d playerPos, double[] motion, int count, boolean predictive) {
+    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 16, name = "AutoMine", description = "Automatically mines blocks", category = FeatureCategory.WORLD)
 public class AutoMine extends Feature {
-    public AutoMine() {
-        super("AutoMine", "Automatically mines blocks", FeatureCategory.WORLD);
-    }
 }
\ No newline at end of file
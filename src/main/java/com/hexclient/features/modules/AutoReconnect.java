@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 34, name = "AutoReconnect", description = "Automatically reconnects when disconnected", category = FeatureCategory.MISC)
 public class AutoReconnect extends Feature {
-    public AutoReconnect() {
-        super("AutoReconnect", "Automatically reconnects when disconnected", FeatureCategory.MISC);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 3, name = "AutoTotem", description = "Automatically equips totems of undying", category = FeatureCategory.COMBAT)
 public class AutoTotem extends Feature {
-    public AutoTotem() {
-        super("AutoTotem", "Automatically equips totems of undying", FeatureCategory.COMBAT);
-    }
 }
\ No newline at end of file
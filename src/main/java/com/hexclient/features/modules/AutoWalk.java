@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 13, name = "AutoWalk", description = "Automatically walks forward", category = FeatureCategory.MOVEMENT)
 public class AutoWalk extends Feature {
-    public AutoWalk() {
-        super("AutoWalk", "Automatically walks forward", FeatureCategory.MOVEMENT);
-    }
 }
\ No newline at end of file
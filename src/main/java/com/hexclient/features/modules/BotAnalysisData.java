@@ -1,20 +1,58 @@
 package com.hexclient.features.modules;
 
+import com.hexclient.utils.DoubleRingBuffer;
+import com.hexclient.utils.FloatRingBuffer;
+import com.hexclient.utils.RunningLineFit;
+import com.hexclient.utils.RunningStats;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Bot Analysis Data - Helper class for bot detection
  * Tracks player behavior patterns for bot detection algorithms
  */
 public class BotAnalysisData {
     
-    private final List<Vec3d> positionHistory = new ArrayList<>();
-    private final List<Vec3d> velocityHistory = new ArrayList<>();
-    private final List<Float[]> rotationHistory = new ArrayList<>();
+    public static final int POSITION_HISTORY = 50;
+    public static final int VELOCITY_HISTORY = 30;
+    public static final int ROTATION_HISTORY = 40;
+    
+    // Component indices into the histories
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int Z = 2;
+    public static final int YAW = 0;
+    public static final int PITCH = 1;
+    
+    // Relative moves are sent in 1/4096 block steps, so synced positions carry at most 12 fractional bits
+    static final int GRID_FRACTION_BITS = 12;
+    
+    // Fixed-size primitive histories, so tracking a player allocates nothing per tick
+    private final DoubleRingBuffer positionHistory = new DoubleRingBuffer(POSITION_HISTORY, 3);
+    private final DoubleRingBuffer velocityHistory = new DoubleRingBuffer(VELOCITY_HISTORY, 3);
+    private final FloatRingBuffer rotationHistory = new FloatRingBuffer(ROTATION_HISTORY, 2);
+    
+    // Statistics over the same windows, updated as entries enter and leave the histories so
+    // the detector checks are O(1) per tick
+    private final RunningLineFit pathFit = new RunningLineFit();
+    private int positionsSinceAnchor = 0;
+    private final RunningStats speedStats = new RunningStats();
+    private final RunningStats yawChangeStats = new RunningStats();
+    private final RunningStats pitchChangeStats = new RunningStats();
+    
+    // Current run of movements matching the run's first movement
+    private double runX, runY, runZ;
+    private int runLength = 0;
+    
+    // Position as last synced by the server, before client-side interpolation. Relative moves
+    // arrive in 1/4096 block steps, so tick-to-tick deltas sit on that grid; absolute syncs (spawns,
+    // teleports, ground changes) do not. One bit per tick over the last POSITION_HISTORY ticks,
+    // newest lowest, computed once as positions are added
+    private static final long TICK_MASK = (1L << POSITION_HISTORY) - 1;
+    private double trackedX, trackedY, trackedZ;
+    private boolean hasTrackedPosition = false;
+    private long trackedMoves = 0;
+    private long offGridMoves = 0;
     
     private int tickCount = 0;
     private int repeatedActionCount = 0;
@@ -22,10 +60,6 @@ public class BotAnalysisData {
     
     // Movement pattern tracking
     private long lastMovementTime = 0;
-    private Vec3d lastPosition = null;
-    private Vec3d lastVelocity = null;
-    private float lastYaw = 0;
-    private float lastPitch = 0;
     
     // Combat tracking
     private long lastAttackTime = 0;
@@ -39,38 +73,116 @@ public class BotAnalysisData {
     private long lastBlockPlaceTime = 0;
     private int generatorCampingTicks = 0;
     
-    public void addPosition(Vec3d position) {
-        positionHistory.add(position);
+    public void addPosition(double x, double y, double z) {
+        if (positionHistory.size() == 0) {
+            pathFit.reanchor(x, y, z);
+        } else {
+            trackMovement(x - positionHistory.last(X), y - positionHistory.last(Y), z - positionHistory.last(Z));
+        }
         
-        // Keep only recent history
-        if (positionHistory.size() > 50) {
-            positionHistory.remove(0);
+        // The oldest entry is overwritten once the history is full, so it leaves the fit first
+        if (positionHistory.isFull()) {
+            pathFit.remove(positionHistory.get(0, X), positionHistory.get(0, Y), positionHistory.get(0, Z));
         }
+        positionHistory.add(x, y, z);
+        pathFit.add(x, y, z);
         
-        lastPosition = position;
+        // Re-anchor once per window to keep the fit's sums small and shed rounding error
+        if (++positionsSinceAnchor >= POSITION_HISTORY) {
+            positionsSinceAnchor = 0;
+            pathFit.reanchor(x, y, z);
+            for (int i = 0; i < positionHistory.size(); i++) {
+                pathFit.add(positionHistory.get(i, X), positionHistory.get(i, Y), positionHistory.get(i, Z));
+            }
+        }
     }
     
-    public void addVelocity(Vec3d velocity) {
-        velocityHistory.add(velocity);
-        
-        // Keep only recent history
-        if (velocityHistory.size() > 30) {
-            velocityHistory.remove(0);
+    /**
+     * Record the server-synced position for this tick
+     */
+    public void addTrackedPosition(double x, double y, double z) {
+        boolean moved = false;
+        boolean offGrid = false;
+        if (hasTrackedPosition) {
+            double dx = x - trackedX;
+            double dy = y - trackedY;
+            double dz = z - trackedZ;
+            moved = dx != 0 || dy != 0 || dz != 0;
+            offGrid = fractionalBits(dx) > GRID_FRACTION_BITS || fractionalBits(dy) > GRID_FRACTION_BITS
+                || fractionalBits(dz) > GRID_FRACTION_BITS;
         }
+        trackedMoves = (trackedMoves << 1 | (moved ? 1 : 0)) & TICK_MASK;
+        offGridMoves = (offGridMoves << 1 | (offGrid ? 1 : 0)) & TICK_MASK;
         
-        lastVelocity = velocity;
+        trackedX = x;
+        trackedY = y;
+        trackedZ = z;
+        hasTrackedPosition = true;
     }
     
-    public void addRotation(float yaw, float pitch) {
-        rotationHistory.add(new Float[]{yaw, pitch});
+    private void trackMovement(double dx, double dy, double dz) {
+        double ex = dx - runX;
+        double ey = dy - runY;
+        double ez = dz - runZ;
+        if (runLength > 0 && ex * ex + ey * ey + ez * ez <= 0.001 * 0.001) {
+            runLength++;
+        } else {
+            runX = dx;
+            runY = dy;
+            runZ = dz;
+            runLength = 1;
+        }
+    }
+    
+    public void addPosition(Vec3d position) {
+        addPosition(position.x, position.y, position.z);
+    }
+    
+    public void addVelocity(double x, double y, double z) {
+        if (velocityHistory.isFull()) {
+            speedStats.remove(speed(velocityHistory.get(0, X), velocityHistory.get(0, Y), velocityHistory.get(0, Z)));
+        }
+        velocityHistory.add(x, y, z);
+        speedStats.add(speed(x, y, z));
+    }
+    
+    /**
+     * Number of binary digits a value needs after the point, from its IEEE-754 mantissa
+     */
+    static int fractionalBits(double value) {
+        if (value == 0 || !Double.isFinite(value)) return 0;
         
-        // Keep only recent history
-        if (rotationHistory.size() > 40) {
-            rotationHistory.remove(0);
+        long mantissa = Double.doubleToRawLongBits(value) & 0x000FFFFFFFFFFFFFL;
+        int exponent = Math.getExponent(value);
+        if (exponent < Double.MIN_EXPONENT) {
+            exponent = Double.MIN_EXPONENT; // subnormal, no implicit leading bit
+        } else {
+            mantissa |= 1L << 52;
         }
         
-        lastYaw = yaw;
-        lastPitch = pitch;
+        // value = mantissa * 2^(exponent - 52); trailing zeros of the mantissa aren't needed
+        return Math.max(0, 52 - exponent - Long.numberOfTrailingZeros(mantissa));
+    }
+    
+    private static double speed(double x, double y, double z) {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+    
+    public void addVelocity(Vec3d velocity) {
+        addVelocity(velocity.x, velocity.y, velocity.z);
+    }
+    
+    public void addRotation(float yaw, float pitch) {
+        // Stats cover the changes between consecutive rotations in the history
+        if (rotationHistory.isFull()) {
+            yawChangeStats.remove(Math.abs(rotationHistory.get(1, YAW) - rotationHistory.get(0, YAW)));
+            pitchChangeStats.remove(Math.abs(rotationHistory.get(1, PITCH) - rotationHistory.get(0, PITCH)));
+        }
+        if (rotationHistory.size() > 0) {
+            yawChangeStats.add(Math.abs(yaw - rotationHistory.last(YAW)));
+            pitchChangeStats.add(Math.abs(pitch - rotationHistory.last(PITCH)));
+        }
+        rotationHistory.add(yaw, pitch);
     }
     
     public void updateActionPattern(PlayerEntity player) {
@@ -93,32 +205,17 @@ public class BotAnalysisData {
     private boolean hasRepeatedMovement() {
         if (positionHistory.size() < 10) return false;
         
-        // Check if last 5 movements are identical
-        Vec3d baseMovement = null;
-        for (int i = positionHistory.size() - 5; i < positionHistory.size() - 1; i++) {
-            Vec3d movement = positionHistory.get(i + 1).subtract(positionHistory.get(i));
-            
-            if (baseMovement == null) {
-                baseMovement = movement;
-            } else {
-                if (baseMovement.distanceTo(movement) > 0.001) {
-                    return false;
-                }
-            }
-        }
-        
-        return baseMovement != null && baseMovement.length() > 0.01;
+        // The last 4 movements are identical and not standing still
+        return runLength >= 4 && runX * runX + runY * runY + runZ * runZ > 0.01 * 0.01;
     }
     
     private boolean hasInhumanPrecision() {
-        if (rotationHistory.size() < 5) return false;
+        int size = rotationHistory.size();
+        if (size < 5) return false;
         
         // Check for perfectly consistent rotation increments
-        Float[] baseRotation = rotationHistory.get(rotationHistory.size() - 5);
-        Float[] currentRotation = rotationHistory.get(rotationHistory.size() - 1);
-        
-        float yawDiff = Math.abs(currentRotation[0] - baseRotation[0]);
-        float pitchDiff = Math.abs(currentRotation[1] - baseRotation[1]);
+        float yawDiff = Math.abs(rotationHistory.get(size - 1, YAW) - rotationHistory.get(size - 5, YAW));
+        float pitchDiff = Math.abs(rotationHistory.get(size - 1, PITCH) - rotationHistory.get(size - 5, PITCH));
         
         // Inhuman precision: changes are too consistent
         return yawDiff < 0.01 && pitchDiff < 0.01 && (yawDiff > 0 || pitchDiff > 0);
@@ -164,17 +261,58 @@ public class BotAnalysisData {
         tickCount++;
     }
     
-    // Getters
-    public List<Vec3d> getPositionHistory() {
-        return new ArrayList<>(positionHistory);
+    /**
+     * Number of entries currently held in each history
+     */
+    public int getPositionCount() {
+        return positionHistory.size();
+    }
+    
+    public int getVelocityCount() {
+        return velocityHistory.size();
+    }
+    
+    public int getRotationCount() {
+        return rotationHistory.size();
+    }
+    
+    /**
+     * Root mean squared distance of the position history from its best-fit line
+     */
+    public double getPathDeviation() {
+        return pathFit.rmsDeviation();
+    }
+    
+    /**
+     * Standard deviation of speed over the velocity history
+     */
+    public double getSpeedDeviation() {
+        return speedStats.stdDev();
+    }
+    
+    /**
+     * Mean absolute yaw change between consecutive entries of the rotation history
+     */
+    public double getMeanYawChange() {
+        return yawChangeStats.mean();
+    }
+    
+    public double getMeanPitchChange() {
+        return pitchChangeStats.mean();
     }
     
-    public List<Vec3d> getVelocityHistory() {
-        return new ArrayList<>(velocityHistory);
+    /**
+     * Number of recent ticks in which the server-synced position changed
+     */
+    public int getTrackedMoveCount() {
+        return Long.bitCount(trackedMoves);
     }
     
-    public List<Float[]> getRotationHistory() {
-        return new ArrayList<>(rotationHistory);
+    /**
+     * Number of recent ticks in which the server-synced position moved off the 1/4096 block grid
+     */
+    public int getOffGridMoveCount() {
+        return Long.bitCount(offGridMoves);
     }
     
     public int getTickCount() {
@@ -1,12 +1,21 @@
 package com.hexclient.features.modules;
 
+import com.hexclient.core.HexClient;
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.features.PeriodicTask;
+import com.hexclient.features.settings.BoolSetting;
+import com.hexclient.features.settings.DoubleSetting;
+import com.hexclient.features.settings.IntSetting;
+import com.hexclient.utils.Logger;
+import com.hexclient.utils.jfr.BotAnalysisEvent;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.Vec3d;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -15,41 +24,90 @@ import java.util.UUID;
  * Advanced Bot Detection System
  * Detects various types of bots including Bedwars bots, combat bots, and movement bots
  */
+@FeatureInfo(id = 8, name = "BotDetector", description = "Detects and analyzes bot behavior patterns", category = FeatureCategory.COMBAT)
 public class BotDetector extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
     
     // Bot detection settings
-    private boolean detectMovementBots = true;
-    private boolean detectCombatBots = true;
-    private boolean detectBedwarsBots = true;
-    private boolean detectNamePatterns = true;
-    private boolean autoAlert = true;
+    private final BoolSetting detectMovementBots = addSetting(new BoolSetting("Movement Bots", "Check movement patterns", true));
+    private final BoolSetting detectCombatBots = addSetting(new BoolSetting("Combat Bots", "Check aim and reactions", true));
+    private final BoolSetting detectBedwarsBots = addSetting(new BoolSetting("Bedwars Bots", "Check Bedwars bot behavior", true));
+    private final BoolSetting detectNamePatterns = addSetting(new BoolSetting("Name Patterns", "Check for generated names", true));
+    private final BoolSetting autoAlert = addSetting(new BoolSetting("Auto Alert", "Announce detected bots in chat", true));
+    private final BoolSetting rememberBots = addSetting(new BoolSetting("Remember Bots", "Flag players detected in several earlier sessions on sight", true));
     
     // Detection thresholds
-    private double movementPrecisionThreshold = 0.95; // Very precise movement = bot
-    private int repeatedActionThreshold = 5; // Same action repeated
-    private double reactionTimeThreshold = 0.1; // Inhuman reaction times
-    private int constantSpeedFrames = 30; // Frames of constant speed
+    private final DoubleSetting movementPrecisionThreshold = addSetting(new DoubleSetting("Movement Precision", "Straight-line accuracy that counts as a bot", 0.95, 0.5, 1.0, 0.01));
+    private final IntSetting repeatedActionThreshold = addSetting(new IntSetting("Repeated Actions", "Identical actions in a row that count as a bot", 5, 1, 50));
+    private final DoubleSetting reactionTimeThreshold = addSetting(new DoubleSetting("Reaction Time", "Reaction time in seconds below which a player counts as a bot", 0.1, 0.0, 1.0, 0.01));
+    private final IntSetting constantSpeedFrames = addSetting(new IntSetting("Constant Speed Frames", "Ticks of constant speed that count as a bot", 30, 5, 30));
+    private final IntSetting cleanupInterval = addSetting(new IntSetting("Cleanup Interval", "Ticks between stale data sweeps", 20, 1, 200));
+    private final PeriodicTask cleanup = addPeriodicTask("Cleanup", cleanupInterval.get());
     
     // Player tracking data
     private final Map<UUID, BotAnalysisData> playerData = new HashMap<>();
     private final Map<UUID, Boolean> confirmedBots = new HashMap<>();
+    private final BotNameClassifier nameClassifier = new BotNameClassifier();
     
-    public BotDetector() {
-        super("BotDetector", "Detects and analyzes bot behavior patterns", FeatureCategory.COMBAT);
+    // Detections from earlier sessions; open while the feature is enabled, null if unavailable
+    private static final String REPUTATION_FILE = "bot-reputation.dat";
+    private BotReputationStore reputation;
+    
+    // Largest speed standard deviation over the velocity history that still counts as constant
+    private static final double CONSTANT_SPEED_TOLERANCE = 0.0005;
+    
+    // Share of recent synced moves off the protocol grid, out of at least this many, that counts as inhuman
+    private static final int MIN_TRACKED_MOVES = 10;
+    private static final double OFF_GRID_MOVE_RATIO = 0.8;
+    
+    @Override
+    protected void onEnable() {
+        super.onEnable();
+        try {
+            reputation = BotReputationStore.open(
+                HexClient.getInstance().getConfigManager().getConfigDir().toPath().resolve(REPUTATION_FILE));
+            Logger.debug("Bot reputation store holds {} players", reputation.size());
+        } catch (IOException e) {
+            Logger.error("Failed to open bot reputation store, detections will not be remembered", e);
+        }
+    }
+    
+    @Override
+    protected void onDisable() {
+        super.onDisable();
+        nameClassifier.clear();
+        if (reputation != null) {
+            reputation.close();
+            reputation = null;
+        }
     }
     
     @Override
     public void onTick() {
         if (mc.player == null || mc.world == null) return;
         
+        BotAnalysisEvent event = new BotAnalysisEvent();
+        event.begin();
+        int analyzed = 0;
+        int detections = 0;
+        
         // Analyze all players in the world
         for (PlayerEntity player : mc.world.getPlayers()) {
             if (player == mc.player) continue;
+            analyzed++;
             
             UUID playerId = player.getUuid();
-            BotAnalysisData data = playerData.computeIfAbsent(playerId, k -> new BotAnalysisData());
+            BotAnalysisData data = playerData.get(playerId);
+            if (data == null) {
+                data = new BotAnalysisData();
+                playerData.put(playerId, data);
+                
+                // Known bots are flagged on sight rather than after their history builds up
+                if (checkReputation(player, data)) {
+                    detections++;
+                }
+            }
             
             // Update player data
             updatePlayerData(player, data);
@@ -59,26 +117,56 @@ public class BotDetector extends Feature {
             
             if (isBotDetected && !confirmedBots.getOrDefault(playerId, false)) {
                 confirmedBots.put(playerId, true);
-                if (autoAlert) {
+                detections++;
+                if (reputation != null) {
+                    reputation.recordDetection(playerId, data.getDetectionReason(), false);
+                }
+                if (autoAlert.get()) {
                     alertBotDetected(player, data.getDetectionReason());
                 }
             }
         }
         
         // Clean up old data
-        cleanupOldData();
+        cleanup.setPeriod(cleanupInterval.get());
+        cleanup.runIfDue(this::cleanupOldData);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.playersAnalyzed = analyzed;
+            event.newDetections = detections;
+            event.trackedPlayers = playerData.size();
+            event.commit();
+        }
+    }
+    
+    private boolean checkReputation(PlayerEntity player, BotAnalysisData data) {
+        UUID playerId = player.getUuid();
+        if (reputation == null || !rememberBots.get() || confirmedBots.getOrDefault(playerId, false)
+                || !reputation.isKnownBot(playerId)) {
+            return false;
+        }
+        
+        data.setDetectionReason(reputation.getReason(playerId) + " (earlier session)");
+        confirmedBots.put(playerId, true);
+        if (autoAlert.get()) {
+            alertBotDetected(player, data.getDetectionReason());
+        }
+        return true;
     }
     
     private void updatePlayerData(PlayerEntity player, BotAnalysisData data) {
-        Vec3d currentPos = player.getPos();
-        Vec3d currentVelocity = player.getVelocity();
-        float currentYaw = player.getYaw();
-        float currentPitch = player.getPitch();
+        Vec3d velocity = player.getVelocity();
+        
+        // Update histories with primitives; nothing is allocated per tick
+        data.addPosition(player.getX(), player.getY(), player.getZ());
+        data.addVelocity(velocity.x, velocity.y, velocity.z);
+        data.addRotation(player.getYaw(), player.getPitch());
         
-        // Update position history
-        data.addPosition(currentPos);
-        data.addVelocity(currentVelocity);
-        data.addRotation(currentYaw, currentPitch);
+        // getX() and friends are interpolated towards the synced position, so precision checks use
+        // the synced one; withDelta with no delta returns it as is
+        Vec3d tracked = player.getTrackedPosition().withDelta(0, 0, 0);
+        data.addTrackedPosition(tracked.x, tracked.y, tracked.z);
         
         // Check for specific patterns
         data.updateActionPattern(player);
@@ -90,25 +178,25 @@ public class BotDetector extends Feature {
         String reason = "";
         
         // Check movement patterns
-        if (detectMovementBots && checkMovementBotPattern(data)) {
+        if (detectMovementBots.get() && checkMovementBotPattern(data)) {
             isBot = true;
             reason = "Robotic movement pattern detected";
         }
         
         // Check combat patterns
-        if (detectCombatBots && checkCombatBotPattern(player, data)) {
+        if (detectCombatBots.get() && checkCombatBotPattern(player, data)) {
             isBot = true;
             reason = "Combat bot behavior detected";
         }
         
         // Check Bedwars specific patterns
-        if (detectBedwarsBots && checkBedwarsBotPattern(player, data)) {
+        if (detectBedwarsBots.get() && checkBedwarsBotPattern(player, data)) {
             isBot = true;
             reason = "Bedwars bot pattern detected";
         }
         
         // Check name patterns
-        if (detectNamePatterns && checkNamePattern(player)) {
+        if (detectNamePatterns.get() && checkNamePattern(player)) {
             isBot = true;
             reason = "Bot-like username detected";
         }
@@ -134,23 +222,23 @@ public class BotDetector extends Feature {
     
     private boolean checkMovementBotPattern(BotAnalysisData data) {
         // Check for perfectly straight lines
-        if (data.getPositionHistory().size() >= 10) {
-            double straightLineAccuracy = calculateStraightLineAccuracy(data.getPositionHistory());
-            if (straightLineAccuracy > movementPrecisionThreshold) {
+        if (data.getPositionCount() >= 10) {
+            double straightLineAccuracy = calculateStraightLineAccuracy(data);
+            if (straightLineAccuracy > movementPrecisionThreshold.get()) {
                 return true;
             }
         }
         
         // Check for constant speed movement
-        if (data.getVelocityHistory().size() >= constantSpeedFrames) {
-            if (hasConstantSpeed(data.getVelocityHistory())) {
+        if (data.getVelocityCount() >= constantSpeedFrames.get()) {
+            if (hasConstantSpeed(data)) {
                 return true;
             }
         }
         
         // Check for robotic turning
-        if (data.getRotationHistory().size() >= 20) {
-            if (hasRoboticRotation(data.getRotationHistory())) {
+        if (data.getRotationCount() >= 20) {
+            if (hasRoboticRotation(data)) {
                 return true;
             }
         }
@@ -160,7 +248,7 @@ public class BotDetector extends Feature {
     
     private boolean checkCombatBotPattern(PlayerEntity player, BotAnalysisData data) {
         // Check for instant reaction times
-        if (data.hasInhumanReactionTime(reactionTimeThreshold)) {
+        if (data.hasInhumanReactionTime(reactionTimeThreshold.get())) {
             return true;
         }
         
@@ -209,52 +297,19 @@ public class BotDetector extends Feature {
     }
     
     private boolean checkNamePattern(PlayerEntity player) {
-        String name = player.getName().getString().toLowerCase();
-        
-        // Common bot name patterns
-        String[] botPatterns = {
-            "^[a-z]{1,3}[0-9]{3,6}$", // Letters followed by numbers
-            "^bot[a-z0-9]*$", // Starting with "bot"
-            "^[a-z]+_?bot$", // Ending with "bot"
-            "^player[0-9]+$", // Player + numbers
-            "^user[0-9]+$", // User + numbers
-            "^test[a-z0-9]*$", // Starting with "test"
-            "^[a-z]{1,2}[0-9]{5,8}$", // Very short letters with many numbers
-            "^auto[a-z0-9]*$", // Starting with "auto"
-            "^hack[a-z0-9]*$", // Starting with "hack"
-            "^cheat[a-z0-9]*$" // Starting with "cheat"
-        };
-        
-        for (String pattern : botPatterns) {
-            if (name.matches(pattern)) {
-                return true;
-            }
-        }
-        
-        // Check for random character sequences
-        if (isRandomCharacterSequence(name)) {
-            return true;
-        }
-        
-        return false;
+        // Names don't change, so each player's name is classified once
+        return nameClassifier.isBotName(player.getUuid(), player.getName().getString());
     }
     
     private boolean checkInhumanPrecision(BotAnalysisData data) {
-        // Check for movements with too much precision
-        if (data.getPositionHistory().size() >= 5) {
-            for (Vec3d pos : data.getPositionHistory()) {
-                // Check if coordinates have suspicious precision
-                if (hasInhumanCoordinatePrecision(pos)) {
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+        // Servers sync ordinary movement in 1/4096 block steps with only occasional absolute positions;
+        // an entity whose moves are mostly off that grid is being teleported every tick
+        int moves = data.getTrackedMoveCount();
+        return moves >= MIN_TRACKED_MOVES && data.getOffGridMoveCount() >= moves * OFF_GRID_MOVE_RATIO;
     }
     
     private boolean checkRepeatedActions(BotAnalysisData data) {
-        return data.getRepeatedActionCount() >= repeatedActionThreshold;
+        return data.getRepeatedActionCount() >= repeatedActionThreshold.get();
     }
     
     private void alertBotDetected(PlayerEntity player, String reason) {
@@ -278,99 +333,25 @@ public class BotDetector extends Feature {
             return mc.world.getPlayers().stream()
                 .noneMatch(player -> player.getUuid().equals(playerId));
         });
-    }
-    
-    // Utility methods
-    private double calculateStraightLineAccuracy(java.util.List<Vec3d> positions) {
-        if (positions.size() < 3) return 0.0;
         
-        Vec3d start = positions.get(0);
-        Vec3d end = positions.get(positions.size() - 1);
-        Vec3d direction = end.subtract(start).normalize();
-        
-        double totalDeviation = 0.0;
-        for (int i = 1; i < positions.size() - 1; i++) {
-            Vec3d current = positions.get(i);
-            Vec3d expectedPos = start.add(direction.multiply(start.distanceTo(current)));
-            totalDeviation += current.distanceTo(expectedPos);
-        }
-        
-        double avgDeviation = totalDeviation / (positions.size() - 2);
-        return Math.max(0.0, 1.0 - (avgDeviation / 0.1)); // Normalize to 0-1
+        // Name verdicts only for players still tracked
+        nameClassifier.retain(playerData.keySet());
     }
     
-    private boolean hasConstantSpeed(java.util.List<Vec3d> velocities) {
-        if (velocities.size() < constantSpeedFrames) return false;
-        
-        double firstSpeed = velocities.get(0).length();
-        for (Vec3d velocity : velocities) {
-            if (Math.abs(velocity.length() - firstSpeed) > 0.001) {
-                return false;
-            }
-        }
-        return true;
+    // Utility methods; the running statistics behind these are kept up to date by BotAnalysisData
+    private double calculateStraightLineAccuracy(BotAnalysisData data) {
+        // RMS distance from the best-fit line, normalized to 0-1
+        return Math.max(0.0, 1.0 - (data.getPathDeviation() / 0.1));
     }
     
-    private boolean hasRoboticRotation(java.util.List<Float[]> rotations) {
-        // Check for perfectly consistent rotation increments
-        if (rotations.size() < 10) return false;
-        
-        float avgYawChange = 0;
-        float avgPitchChange = 0;
-        int changes = 0;
-        
-        for (int i = 1; i < rotations.size(); i++) {
-            float yawDiff = rotations.get(i)[0] - rotations.get(i-1)[0];
-            float pitchDiff = rotations.get(i)[1] - rotations.get(i-1)[1];
-            
-            avgYawChange += Math.abs(yawDiff);
-            avgPitchChange += Math.abs(pitchDiff);
-            changes++;
-        }
-        
-        avgYawChange /= changes;
-        avgPitchChange /= changes;
-        
-        // Check if rotation changes are too consistent
-        return avgYawChange > 0 && avgYawChange < 0.5 && avgPitchChange < 0.5;
-    }
-    
-    private boolean isRandomCharacterSequence(String name) {
-        // Simple heuristic: if name has no vowels or too many consonants in a row
-        String vowels = "aeiou";
-        int consonantStreak = 0;
-        int maxConsonantStreak = 0;
-        int vowelCount = 0;
-        
-        for (char c : name.toCharArray()) {
-            if (vowels.indexOf(c) != -1) {
-                vowelCount++;
-                consonantStreak = 0;
-            } else if (Character.isLetter(c)) {
-                consonantStreak++;
-                maxConsonantStreak = Math.max(maxConsonantStreak, consonantStreak);
-            }
-        }
-        
-        return maxConsonantStreak > 4 || (name.length() > 4 && vowelCount == 0);
+    private boolean hasConstantSpeed(BotAnalysisData data) {
+        return data.getSpeedDeviation() < CONSTANT_SPEED_TOLERANCE;
     }
     
-    private boolean hasInhumanCoordinatePrecision(Vec3d pos) {
-        // Check if coordinates have too many decimal places (suspicious precision)
-        String xStr = String.valueOf(pos.x);
-        String yStr = String.valueOf(pos.y);
-        String zStr = String.valueOf(pos.z);
-        
-        return hasExcessiveDecimalPrecision(xStr) || 
-               hasExcessiveDecimalPrecision(yStr) || 
-               hasExcessiveDecimalPrecision(zStr);
-    }
-    
-    private boolean hasExcessiveDecimalPrecision(String coord) {
-        if (!coord.contains(".")) return false;
-        
-        String decimal = coord.substring(coord.indexOf(".") + 1);
-        return decimal.length() > 10; // More than 10 decimal places is suspicious
+    private boolean hasRoboticRotation(BotAnalysisData data) {
+        // Check if rotation changes are too consistent
+        double avgYawChange = data.getMeanYawChange();
+        return avgYawChange > 0 && avgYawChange < 0.5 && data.getMeanPitchChange() < 0.5;
     }
     
     // Public API methods
@@ -388,25 +369,34 @@ public class BotDetector extends Feature {
         if (data != null) {
             data.setDetectionReason(reason);
         }
+        if (reputation != null) {
+            reputation.recordDetection(player.getUuid(), reason, true);
+        }
     }
     
     public void clearBotStatus(PlayerEntity player) {
         confirmedBots.remove(player.getUuid());
+        if (reputation != null) {
+            reputation.clear(player.getUuid());
+        }
     }
     
     // Getters and setters
-    public boolean isDetectMovementBots() { return detectMovementBots; }
-    public void setDetectMovementBots(boolean detectMovementBots) { this.detectMovementBots = detectMovementBots; }
+    public boolean isDetectMovementBots() { return detectMovementBots.get(); }
+    public void setDetectMovementBots(boolean detectMovementBots) { this.detectMovementBots.set(detectMovementBots); }
+    
+    public boolean isDetectCombatBots() { return detectCombatBots.get(); }
+    public void setDetectCombatBots(boolean detectCombatBots) { this.detectCombatBots.set(detectCombatBots); }
     
-    public boolean isDetectCombatBots() { return detectCombatBots; }
-    public void setDetectCombatBots(boolean detectCombatBots) { this.detectCombatBots = detectCombatBots; }
+    public boolean isDetectBedwarsBots() { return detectBedwarsBots.get(); }
+    public void setDetectBedwarsBots(boolean detectBedwarsBots) { this.detectBedwarsBots.set(detectBedwarsBots); }
     
-    public boolean isDetectBedwarsBots() { return detectBedwarsBots; }
-    public void setDetectBedwarsBots(boolean detectBedwarsBots) { this.detectBedwarsBots = detectBedwarsBots; }
+    public boolean isDetectNamePatterns() { return detectNamePatterns.get(); }
+    public void setDetectNamePatterns(boolean detectNamePatterns) { this.detectNamePatterns.set(detectNamePatterns); }
     
-    public boolean isDetectNamePatterns() { return detectNamePatterns; }
-    public void setDetectNamePatterns(boolean detectNamePatterns) { this.detectNamePatterns = detectNamePatterns; }
+    public boolean isAutoAlert() { return autoAlert.get(); }
+    public void setAutoAlert(boolean autoAlert) { this.autoAlert.set(autoAlert); }
     
-    public boolean isAutoAlert() { return autoAlert; }
-    public void setAutoAlert(boolean autoAlert) { this.autoAlert = autoAlert; }
+    public boolean isRememberBots() { return rememberBots.get(); }
+    public void setRememberBots(boolean rememberBots) { this.rememberBots.set(rememberBots); }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.hexclient.features.modules;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Classifies usernames as bot-like, once per player
+ * A name is read in a single pass that tracks its shape (a run of letters followed by a run of
+ * digits) together with the vowel and consonant counts of the random-sequence heuristic; the
+ * patterns below are then decided from that state with no further scanning. Verdicts are cached
+ * by UUID while the player is tracked, so after first sight a check is one map lookup.
+ *
+ * Bot-like names, case-insensitive:
+ * <ul>
+ *   <li>1-3 letters followed by 3-6 digits, or 1-2 letters followed by 5-8 digits</li>
+ *   <li>"player" or "user" followed by digits</li>
+ *   <li>letters and digits starting with "bot", "test", "auto", "hack" or "cheat"</li>
+ *   <li>letters ending with "bot" or "_bot"</li>
+ *   <li>a run of more than 4 consonants, or more than 4 characters and no vowels</li>
+ * </ul>
+ */
+final class BotNameClassifier {
+    
+    private static final String[] BOT_PREFIXES = {"bot", "test", "auto", "hack", "cheat"};
+    private static final String BOT_SUFFIX = "bot";
+    
+    private final Map<UUID, Boolean> verdicts = new HashMap<>();
+    
+    /**
+     * Whether the player's name is bot-like, classifying it on first sight
+     */
+    boolean isBotName(UUID player, String name) {
+        Boolean verdict = verdicts.get(player);
+        if (verdict == null) {
+            verdict = classify(name);
+            verdicts.put(player, verdict);
+        }
+        return verdict;
+    }
+    
+    /**
+     * Drop verdicts for players no longer tracked, so the cache only holds players nearby
+     */
+    void retain(Set<UUID> players) {
+        verdicts.keySet().retainAll(players);
+    }
+    
+    void clear() {
+        verdicts.clear();
+    }
+    
+    static boolean classify(String name) {
+        name = name.toLowerCase(Locale.ROOT);
+        int length = name.length();
+        
+        // Leading run of letters and the run of digits right after it
+        int letterRun = 0;
+        int digitRun = 0;
+        boolean alphanumeric = true;
+        
+        // Random-sequence heuristic
+        int vowelCount = 0;
+        int consonantStreak = 0;
+        int maxConsonantStreak = 0;
+        
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            boolean letter = c >= 'a' && c <= 'z';
+            boolean digit = c >= '0' && c <= '9';
+            
+            if (letter && letterRun == i) {
+                letterRun++;
+            } else if (digit && letterRun + digitRun == i) {
+                digitRun++;
+            }
+            alphanumeric &= letter || digit;
+            
+            if (isVowel(c)) {
+                vowelCount++;
+                consonantStreak = 0;
+            } else if (Character.isLetter(c)) {
+                maxConsonantStreak = Math.max(maxConsonantStreak, ++consonantStreak);
+            }
+        }
+        
+        if (maxConsonantStreak > 4 || (length > 4 && vowelCount == 0)) {
+            return true;
+        }
+        
+        // Letters followed by digits
+        if (letterRun > 0 && letterRun + digitRun == length) {
+            if (letterRun <= 3 && digitRun >= 3 && digitRun <= 6) return true;
+            if (letterRun <= 2 && digitRun >= 5 && digitRun <= 8) return true;
+            if (digitRun > 0 && (name.startsWith("player") && letterRun == 6 || name.startsWith("user") && letterRun == 4)) {
+                return true;
+            }
+        }
+        
+        if (alphanumeric) {
+            for (String prefix : BOT_PREFIXES) {
+                if (name.startsWith(prefix)) return true;
+            }
+        }
+        
+        // Letters, then "bot" or "_bot"
+        if (name.endsWith(BOT_SUFFIX)) {
+            int stem = length - BOT_SUFFIX.length();
+            if (letterRun == length && stem > 0) return true;
+            if (letterRun == stem - 1 && letterRun > 0 && name.charAt(letterRun) == '_') return true;
+        }
+        
+        return false;
+    }
+    
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -2,22 +2,21 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.entity.Entity;
-import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.*;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.EntityHitResult;
-import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
-import java.util.List;
-
 /**
  * BotPvP - Advanced bot-level PvP automation
  * Provides inhuman precision and reaction times for competitive play
  */
+@FeatureInfo(id = 6, name = "BotPvP", description = "Bot-level PvP automation with inhuman precision", category = FeatureCategory.COMBAT)
 public class BotPvP extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -48,9 +47,8 @@ public class BotPvP extends Feature {
     private int comboCounter = 0;
     private Vec3d lastTargetPos = null;
     
-    public BotPvP() {
-        super("BotPvP", "Bot-level PvP automation with inhuman precision", FeatureCategory.COMBAT);
-    }
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
     
     @Override
     public void onTick() {
@@ -75,24 +73,23 @@ public class BotPvP extends Feature {
     private PlayerEntity findBestTarget() {
         if (mc.player == null || mc.world == null) return null;
         
+        WorldSnapshot snapshot = getClient().getWorldSnapshot();
         Vec3d playerPos = mc.player.getPos();
-        Box searchBox = new Box(playerPos.subtract(range, range, range),
-                               playerPos.add(range, range, range));
         
-        List<Entity> entities = mc.world.getOtherEntities(mc.player, searchBox);
+        getClient().getSpatialIndex().queryRadius(playerPos.x, playerPos.y, playerPos.z, range, candidates);
         
         PlayerEntity bestTarget = null;
         double bestScore = Double.MAX_VALUE;
         
-        for (Entity entity : entities) {
-            if (!(entity instanceof PlayerEntity player)) continue;
-            if (player.isDead() || player.getHealth() <= 0) continue;
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidates.getInt(j);
+            if (!snapshot.is(i, WorldSnapshot.PLAYER) || !snapshot.isAlive(i)) continue;
             
-            double distance = mc.player.distanceTo(player);
-            if (distance > range) continue;
+            double distance = Math.sqrt(snapshot.distanceSq(i, playerPos.x, playerPos.y, playerPos.z));
             
             // Calculate target priority score
-            double score = calculateTargetScore(player);
+            PlayerEntity player = (PlayerEntity) snapshot.entity(i);
+            double score = calculateTargetScore(player, distance, snapshot.health(i));
             if (score < bestScore) {
                 bestScore = score;
                 bestTarget = player;
@@ -102,10 +99,7 @@ public class BotPvP extends Feature {
         return bestTarget;
     }
     
-    private double calculateTargetScore(PlayerEntity target) {
-        double distance = mc.player.distanceTo(target);
-        double health = target.getHealth();
-        
+    private double calculateTargetScore(PlayerEntity target, double distance, double health) {
         // Prioritize closer, lower health targets
         double score = distance + (health / 20.0) * 2;
         
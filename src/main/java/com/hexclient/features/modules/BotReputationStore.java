@@ -0,0 +1,316 @@
+package com.hexclient.features.modules;
+
+import com.hexclient.utils.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Persistent record of players flagged by BotDetector, kept across sessions
+ * The file is a memory-mapped open-addressing hash table of fixed-size records keyed by UUID,
+ * so a lookup is a few probes into mapped memory with no parsing. When the table fills up the
+ * least recently seen records are dropped and the rest are rehashed in place.
+ * A single detection may be a false positive, so a player only counts as a known bot once
+ * detected in more than one session (or marked by hand), and stops counting when no
+ * detection has been recorded for a while.
+ * Not thread safe; used from the client thread only
+ */
+final class BotReputationStore implements AutoCloseable {
+    
+    private static final int MAGIC = 0x48584252; // "HXBR"
+    private static final int VERSION = 2;
+    
+    // Header: magic, version, capacity, count, access clock
+    private static final int HEADER_SIZE = 64;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int CLOCK_OFFSET = 16;
+    
+    // Record layout
+    private static final int RECORD_SIZE = 96;
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int LAST_DETECTED = 16;  // wall clock millis
+    private static final int LAST_ACCESS = 24;    // access clock at the last sighting or detection, for LRU compaction
+    private static final int FLAGS = 32;
+    private static final int SCORE = 36;          // number of detections recorded
+    private static final int SESSIONS = 40;       // number of sessions with a detection
+    private static final int LAST_SESSION = 44;   // session of the last detection
+    private static final int REASON_LENGTH = 52;
+    private static final int REASON = 53;
+    private static final int MAX_REASON_BYTES = RECORD_SIZE - REASON;
+    
+    private static final int USED = 1;
+    private static final int BOT = 2;
+    private static final int MANUAL = 4;
+    
+    /** Sessions with a detection before a player is flagged on sight */
+    static final int MIN_SESSIONS = 2;
+    /** Detections older than this no longer make a player a known bot */
+    static final long DETECTION_EXPIRY_MS = 30L * 24 * 60 * 60 * 1000;
+    
+    // One session per client run, however often the store is reopened
+    private static final long SESSION = System.currentTimeMillis();
+    
+    /** Power of two; 16384 records make a 1.5 MB file */
+    static final int CAPACITY = 1 << 14;
+    private static final int MASK = CAPACITY - 1;
+    private static final int SLOT_BITS = Integer.numberOfTrailingZeros(CAPACITY);
+    // Compact at 75% load, keeping the most recently seen half
+    private static final int MAX_COUNT = CAPACITY / 4 * 3;
+    private static final int KEEP_AFTER_COMPACTION = CAPACITY / 2;
+    
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    
+    private BotReputationStore(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Open or create the store; a file with a foreign header is started afresh
+     */
+    static BotReputationStore open(Path file) throws IOException {
+        long size = HEADER_SIZE + (long) CAPACITY * RECORD_SIZE;
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean fresh = channel.size() != size;
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            
+            boolean foreign = buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(CAPACITY_OFFSET) != CAPACITY;
+            if (!fresh && foreign) {
+                Logger.warn("Bot reputation store {} has an unknown format, starting a new one", file);
+                fresh = true;
+            }
+            if (fresh) {
+                for (int i = 0; i < buffer.capacity(); i += 8) {
+                    buffer.putLong(i, 0);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(CAPACITY_OFFSET, CAPACITY);
+            }
+            return new BotReputationStore(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Whether the player was marked by hand or detected in enough sessions, recently enough
+     * Called when a player comes into view, so any record found is marked as recently seen,
+     * whether or not it counts yet; expiry goes by the last detection instead
+     */
+    boolean isKnownBot(UUID player) {
+        int slot = find(player);
+        if (slot < 0) return false;
+        touch(slot);
+        
+        int offset = offset(slot);
+        int flags = buffer.getInt(offset + FLAGS);
+        if ((flags & BOT) == 0) return false;
+        
+        return (flags & MANUAL) != 0 || (buffer.getInt(offset + SESSIONS) >= MIN_SESSIONS
+            && System.currentTimeMillis() - buffer.getLong(offset + LAST_DETECTED) < DETECTION_EXPIRY_MS);
+    }
+    
+    /**
+     * Reason stored with the last detection, or null if there is no record
+     */
+    String getReason(UUID player) {
+        int slot = find(player);
+        if (slot < 0) return null;
+        
+        int offset = offset(slot);
+        byte[] bytes = new byte[buffer.get(offset + REASON_LENGTH) & 0xFF];
+        buffer.get(offset + REASON, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    int getScore(UUID player) {
+        int slot = find(player);
+        return slot < 0 ? 0 : buffer.getInt(offset(slot) + SCORE);
+    }
+    
+    int getSessions(UUID player) {
+        int slot = find(player);
+        return slot < 0 ? 0 : buffer.getInt(offset(slot) + SESSIONS);
+    }
+    
+    /**
+     * Record a detection, creating the record if needed
+     *
+     * @param manual whether the player was marked by hand, which makes them a known bot at once
+     */
+    void recordDetection(UUID player, String reason, boolean manual) {
+        int slot = find(player);
+        if (slot < 0) {
+            if (count() >= MAX_COUNT) {
+                compact();
+            }
+            slot = insert(player.getMostSignificantBits(), player.getLeastSignificantBits());
+        }
+        
+        int offset = offset(slot);
+        buffer.putInt(offset + SCORE, buffer.getInt(offset + SCORE) + 1);
+        if (buffer.getLong(offset + LAST_SESSION) != SESSION) {
+            buffer.putLong(offset + LAST_SESSION, SESSION);
+            buffer.putInt(offset + SESSIONS, buffer.getInt(offset + SESSIONS) + 1);
+        }
+        buffer.putLong(offset + LAST_DETECTED, System.currentTimeMillis());
+        
+        byte[] bytes = truncate(reason.getBytes(StandardCharsets.UTF_8));
+        buffer.put(offset + REASON_LENGTH, (byte) bytes.length);
+        buffer.put(offset + REASON, bytes);
+        int flags = buffer.getInt(offset + FLAGS) | USED | BOT;
+        buffer.putInt(offset + FLAGS, manual ? flags | MANUAL : flags);
+        touch(slot);
+    }
+    
+    /**
+     * Clear the bot and manual flags; the record stays so its history is kept
+     */
+    void clear(UUID player) {
+        int slot = find(player);
+        if (slot >= 0) {
+            buffer.putInt(offset(slot) + FLAGS, USED);
+        }
+    }
+    
+    int size() {
+        return count();
+    }
+    
+    /**
+     * Write dirty pages to disk
+     */
+    void flush() {
+        buffer.force();
+    }
+    
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Logger.warn("Failed to close bot reputation store: {}", e.toString());
+        }
+    }
+    
+    private int find(UUID player) {
+        long msb = player.getMostSignificantBits();
+        long lsb = player.getLeastSignificantBits();
+        
+        // Linear probing; records are never removed individually, so the first empty slot ends the chain
+        for (int slot = hash(msb, lsb), probes = 0; probes < CAPACITY; slot = (slot + 1) & MASK, probes++) {
+            int offset = offset(slot);
+            if ((buffer.getInt(offset + FLAGS) & USED) == 0) return -1;
+            if (buffer.getLong(offset + MSB) == msb && buffer.getLong(offset + LSB) == lsb) return slot;
+        }
+        return -1;
+    }
+    
+    private int insert(long msb, long lsb) {
+        int slot = hash(msb, lsb);
+        while ((flags(slot) & USED) != 0) {
+            slot = (slot + 1) & MASK;
+        }
+        
+        int offset = offset(slot);
+        buffer.putLong(offset + MSB, msb);
+        buffer.putLong(offset + LSB, lsb);
+        buffer.putInt(offset + FLAGS, USED);
+        buffer.putInt(COUNT_OFFSET, count() + 1);
+        return slot;
+    }
+    
+    /**
+     * Keep the most recently seen records and rehash them into a cleared table
+     */
+    private void compact() {
+        long start = System.nanoTime();
+        int count = count();
+        
+        // Sort keys of access clock and slot packed together, so the sort moves primitives only;
+        // the clock counts single lookups and cannot reach the 2^49 that would overflow the packing
+        long[] keys = new long[count];
+        int live = 0;
+        for (int slot = 0; slot < CAPACITY && live < count; slot++) {
+            if ((flags(slot) & USED) == 0) continue;
+            keys[live++] = buffer.getLong(offset(slot) + LAST_ACCESS) << SLOT_BITS | slot;
+        }
+        Arrays.sort(keys, 0, live);
+        
+        // Copy out the most recently accessed records before the table is cleared
+        int kept = Math.min(live, KEEP_AFTER_COMPACTION);
+        byte[] records = new byte[kept * RECORD_SIZE];
+        for (int i = 0; i < kept; i++) {
+            int slot = (int) keys[live - 1 - i] & MASK;
+            buffer.get(offset(slot), records, i * RECORD_SIZE, RECORD_SIZE);
+        }
+        
+        byte[] empty = new byte[RECORD_SIZE];
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            buffer.put(offset(slot), empty);
+        }
+        buffer.putInt(COUNT_OFFSET, 0);
+        
+        ByteBuffer copied = ByteBuffer.wrap(records);
+        for (int i = 0; i < kept; i++) {
+            int record = i * RECORD_SIZE;
+            int slot = insert(copied.getLong(record + MSB), copied.getLong(record + LSB));
+            buffer.put(offset(slot), records, record, RECORD_SIZE);
+        }
+        
+        Logger.debug("Compacted bot reputation store from {} to {} records in {} us",
+            live, kept, (System.nanoTime() - start) / 1000);
+    }
+    
+    private void touch(int slot) {
+        long clock = buffer.getLong(CLOCK_OFFSET) + 1;
+        buffer.putLong(CLOCK_OFFSET, clock);
+        buffer.putLong(offset(slot) + LAST_ACCESS, clock);
+    }
+    
+    private int flags(int slot) {
+        return buffer.getInt(offset(slot) + FLAGS);
+    }
+    
+    private int count() {
+        return buffer.getInt(COUNT_OFFSET);
+    }
+    
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+    
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & MASK;
+    }
+    
+    private static byte[] truncate(byte[] bytes) {
+        if (bytes.length <= MAX_REASON_BYTES) return bytes;
+        
+        // Cut on a UTF-8 character boundary
+        int length = MAX_REASON_BYTES;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+}
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 35, name = "ChatFilter", description = "Filters unwanted chat messages", category = FeatureCategory.MISC)
 public class ChatFilter extends Feature {
-    public ChatFilter() {
-        super("ChatFilter", "Filters unwanted chat messages", FeatureCategory.MISC);
-    }
 }
\ No newline at end of file
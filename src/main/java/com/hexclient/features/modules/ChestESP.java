@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 19, name = "ChestESP", description = "Highlights chests and containers", category = FeatureCategory.VISUAL)
 public class ChestESP extends Feature {
-    public ChestESP() {
-        super("ChestESP", "Highlights chests and containers", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 33, name = "ChunkAnimator", description = "Smooth chunk loading animations", category = FeatureCategory.PERFORMANCE)
 public class ChunkAnimator extends Feature {
-    public ChunkAnimator() {
-        super("ChunkAnimator", "Smooth chunk loading animations", FeatureCategory.PERFORMANCE);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 4, name = "CrystalAura", description = "Advanced crystal combat automation", category = FeatureCategory.COMBAT)
 public class CrystalAura extends Feature {
-    public CrystalAura() {
-        super("CrystalAura", "Advanced crystal combat automation", FeatureCategory.COMBAT);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 26, name = "CustomSky", description = "Customizable sky colors and effects", category = FeatureCategory.VISUAL)
 public class CustomSky extends Feature {
-    public CustomSky() {
-        super("CustomSky", "Customizable sky colors and effects", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
@@ -2,6 +2,12 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.features.settings.BoolSetting;
+import com.hexclient.features.settings.ColorSetting;
+import com.hexclient.features.settings.DoubleSetting;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.VertexConsumer;
@@ -9,10 +15,6 @@ import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.WorldRenderer;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.ItemEntity;
-import net.minecraft.entity.mob.Monster;
-import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 
@@ -21,27 +23,27 @@ import net.minecraft.util.math.Vec3d;
  * Highlights entities and objects through walls
  * Common visual feature in most Minecraft clients
  */
+@FeatureInfo(id = 29, name = "ESP", description = "Highlights entities through walls", category = FeatureCategory.VISUAL)
 public class ESP extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
     
     // ESP settings
-    private boolean players = true;
-    private boolean mobs = true;
-    private boolean animals = false;
-    private boolean items = true;
-    private boolean throughWalls = true;
-    private double range = 64.0;
+    private final BoolSetting players = addSetting(new BoolSetting("Players", "Highlight players", true));
+    private final BoolSetting mobs = addSetting(new BoolSetting("Mobs", "Highlight hostile mobs", true));
+    private final BoolSetting animals = addSetting(new BoolSetting("Animals", "Highlight passive mobs", false));
+    private final BoolSetting items = addSetting(new BoolSetting("Items", "Highlight dropped items", true));
+    private final BoolSetting throughWalls = addSetting(new BoolSetting("Through Walls", "Draw boxes through blocks", true));
+    private final DoubleSetting range = addSetting(new DoubleSetting("Range", "Maximum distance in blocks", 64.0, 1.0, 256.0, 8.0));
     
     // Colors (ARGB format)
-    private int playersColor = 0xFF00FF00; // Green
-    private int mobsColor = 0xFFFF0000;    // Red
-    private int animalsColor = 0xFF0080FF; // Light Blue  
-    private int itemsColor = 0xFFFFFF00;   // Yellow
+    private final ColorSetting playersColor = addSetting(new ColorSetting("Players Color", "Box color for players", 0xFF00FF00));
+    private final ColorSetting mobsColor = addSetting(new ColorSetting("Mobs Color", "Box color for hostile mobs", 0xFFFF0000));
+    private final ColorSetting animalsColor = addSetting(new ColorSetting("Animals Color", "Box color for passive mobs", 0xFF0080FF));
+    private final ColorSetting itemsColor = addSetting(new ColorSetting("Items Color", "Box color for dropped items", 0xFFFFFF00));
     
-    public ESP() {
-        super("ESP", "Highlights entities through walls", FeatureCategory.VISUAL);
-    }
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
     
     @Override
     public void onRender() {
@@ -51,15 +53,18 @@ public class ESP extends Feature {
         VertexConsumerProvider.Immediate vertexConsumers = mc.getBufferBuilders().getEntityVertexConsumers();
         
         Vec3d cameraPos = mc.gameRenderer.getCamera().getPos();
+        WorldSnapshot snapshot = getClient().getWorldSnapshot();
+        Vec3d playerPos = mc.player.getPos();
+        getClient().getSpatialIndex().queryRadius(playerPos.x, playerPos.y, playerPos.z, range.get(), candidates);
         
-        for (Entity entity : mc.world.getEntities()) {
-            if (entity == mc.player) continue;
-            if (mc.player.distanceTo(entity) > range) continue;
-            
-            if (!shouldRenderEntity(entity)) continue;
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidates.getInt(j);
+            ColorSetting color = getEntityColor(snapshot, i);
+            if (color == null) continue;
             
-            int color = getEntityColor(entity);
-            if (color == 0) continue;
+            // The snapshot is taken per tick, so skip entities removed since then
+            Entity entity = snapshot.entity(i);
+            if (entity.isRemoved()) continue;
             
             renderEntityESP(entity, matrices, vertexConsumers, cameraPos, color);
         }
@@ -67,24 +72,19 @@ public class ESP extends Feature {
         vertexConsumers.draw();
     }
     
-    private boolean shouldRenderEntity(Entity entity) {
-        if (entity instanceof PlayerEntity && players) return true;
-        if (entity instanceof Monster && mobs) return true;
-        if (entity instanceof AnimalEntity && animals) return true;
-        if (entity instanceof ItemEntity && items) return true;
-        return false;
-    }
-    
-    private int getEntityColor(Entity entity) {
-        if (entity instanceof PlayerEntity) return playersColor;
-        if (entity instanceof Monster) return mobsColor;
-        if (entity instanceof AnimalEntity) return animalsColor;
-        if (entity instanceof ItemEntity) return itemsColor;
-        return 0;
+    /**
+     * Color for an entity in the snapshot, or null if it should not be rendered
+     */
+    private ColorSetting getEntityColor(WorldSnapshot snapshot, int i) {
+        if (snapshot.is(i, WorldSnapshot.PLAYER)) return players.get() ? playersColor : null;
+        if (snapshot.is(i, WorldSnapshot.MONSTER)) return mobs.get() ? mobsColor : null;
+        if (snapshot.is(i, WorldSnapshot.ANIMAL)) return animals.get() ? animalsColor : null;
+        if (snapshot.is(i, WorldSnapshot.ITEM)) return items.get() ? itemsColor : null;
+        return null;
     }
     
     private void renderEntityESP(Entity entity, MatrixStack matrices, VertexConsumerProvider vertexConsumers, 
-                                Vec3d cameraPos, int color) {
+                                Vec3d cameraPos, ColorSetting color) {
         
         matrices.push();
         
@@ -99,11 +99,11 @@ public class ESP extends Feature {
         // Get entity bounding box
         Box box = entity.getBoundingBox().offset(-entity.getX(), -entity.getY(), -entity.getZ());
         
-        // Extract color components
-        float alpha = ((color >> 24) & 0xFF) / 255.0f;
-        float red = ((color >> 16) & 0xFF) / 255.0f;
-        float green = ((color >> 8) & 0xFF) / 255.0f;
-        float blue = (color & 0xFF) / 255.0f;
+        // Components are split once when the color changes
+        float alpha = color.alpha();
+        float red = color.red();
+        float green = color.green();
+        float blue = color.blue();
         
         // Render filled box with transparency
         VertexConsumer bufferFilled = vertexConsumers.getBuffer(RenderLayer.getDebugFilledBox());
@@ -123,33 +123,33 @@ public class ESP extends Feature {
     }
     
     // Settings getters and setters
-    public boolean isPlayers() { return players; }
-    public void setPlayers(boolean players) { this.players = players; }
+    public boolean isPlayers() { return players.get(); }
+    public void setPlayers(boolean players) { this.players.set(players); }
     
-    public boolean isMobs() { return mobs; }
-    public void setMobs(boolean mobs) { this.mobs = mobs; }
+    public boolean isMobs() { return mobs.get(); }
+    public void setMobs(boolean mobs) { this.mobs.set(mobs); }
     
-    public boolean isAnimals() { return animals; }
-    public void setAnimals(boolean animals) { this.animals = animals; }
+    public boolean isAnimals() { return animals.get(); }
+    public void setAnimals(boolean animals) { this.animals.set(animals); }
     
-    public boolean isItems() { return items; }
-    public void setItems(boolean items) { this.items = items; }
+    public boolean isItems() { return items.get(); }
+    public void setItems(boolean items) { this.items.set(items); }
     
-    public boolean isThroughWalls() { return throughWalls; }
-    public void setThroughWalls(boolean throughWalls) { this.throughWalls = throughWalls; }
+    public boolean isThroughWalls() { return throughWalls.get(); }
+    public void setThroughWalls(boolean throughWalls) { this.throughWalls.set(throughWalls); }
     
-    public double getRange() { return range; }
-    public void setRange(double range) { this.range = Math.max(1.0, Math.min(256.0, range)); }
+    public double getRange() { return range.get(); }
+    public void setRange(double range) { this.range.set(range); }
     
-    public int getPlayersColor() { return playersColor; }
-    public void setPlayersColor(int playersColor) { this.playersColor = playersColor; }
+    public int getPlayersColor() { return playersColor.get(); }
+    public void setPlayersColor(int playersColor) { this.playersColor.set(playersColor); }
     
-    public int getMobsColor() { return mobsColor; }
-    public void setMobsColor(int mobsColor) { this.mobsColor = mobsColor; }
+    public int getMobsColor() { return mobsColor.get(); }
+    public void setMobsColor(int mobsColor) { this.mobsColor.set(mobsColor); }
     
-    public int getAnimalsColor() { return animalsColor; }
-    public void setAnimalsColor(int animalsColor) { this.animalsColor = animalsColor; }
+    public int getAnimalsColor() { return animalsColor.get(); }
+    public void setAnimalsColor(int animalsColor) { this.animalsColor.set(animalsColor); }
     
-    public int getItemsColor() { return itemsColor; }
-    public void setItemsColor(int itemsColor) { this.itemsColor = itemsColor; }
+    public int getItemsColor() { return itemsColor.get(); }
+    public void setItemsColor(int itemsColor) { this.itemsColor.set(itemsColor); }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 14, name = "ElytraFly", description = "Enhanced elytra flight", category = FeatureCategory.MOVEMENT)
 public class ElytraFly extends Feature {
-    public ElytraFly() {
-        super("ElytraFly", "Enhanced elytra flight", FeatureCategory.MOVEMENT);
-    }
 }
\ No newline at end of file
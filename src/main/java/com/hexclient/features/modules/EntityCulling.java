@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 32, name = "EntityCulling", description = "Optimizes entity rendering", category = FeatureCategory.PERFORMANCE)
 public class EntityCulling extends Feature {
-    public EntityCulling() {
-        super("EntityCulling", "Optimizes entity rendering", FeatureCategory.PERFORMANCE);
-    }
 }
\ No newline at end of file
@@ -2,17 +2,15 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
 /**
  * FPSBoost - Performance optimization feature
  * Similar to performance features found in Lunar and Badlion clients
  */
+@FeatureInfo(id = 30, name = "FPSBoost", description = "Optimizations to improve FPS", category = FeatureCategory.PERFORMANCE)
 public class FPSBoost extends Feature {
     
-    public FPSBoost() {
-        super("FPSBoost", "Optimizations to improve FPS", FeatureCategory.PERFORMANCE);
-    }
-    
     @Override
     protected void onEnable() {
         super.onEnable();
@@ -2,6 +2,7 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -18,6 +19,7 @@ import net.minecraft.util.math.Vec3d;
  * FastPlace - Inhuman block placement speed for competitive building
  * Removes vanilla placement delays and provides bot-level building speed
  */
+@FeatureInfo(id = 23, name = "FastPlace", description = "Inhuman block placement speed and precision", category = FeatureCategory.WORLD)
 public class FastPlace extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -41,10 +43,6 @@ public class FastPlace extends Feature {
     private int blocksPlaced = 0;
     private BlockPos lastPlacedPos = null;
     
-    public FastPlace() {
-        super("FastPlace", "Inhuman block placement speed and precision", FeatureCategory.WORLD);
-    }
-    
     @Override
     protected void onEnable() {
         super.onEnable();
@@ -2,6 +2,7 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.util.math.Vec3d;
 
@@ -9,6 +10,7 @@ import net.minecraft.util.math.Vec3d;
  * Flight - Creative-style flight in survival mode
  * Common feature in most Minecraft clients
  */
+@FeatureInfo(id = 9, name = "Flight", description = "Allows creative-style flight", category = FeatureCategory.MOVEMENT)
 public class Flight extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
@@ -35,10 +37,6 @@ public class Flight extends Feature {
         }
     }
     
-    public Flight() {
-        super("Flight", "Allows creative-style flight", FeatureCategory.MOVEMENT);
-    }
-    
     @Override
     protected void onEnable() {
         super.onEnable();
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 28, name = "FreeCam", description = "Free camera spectator mode", category = FeatureCategory.VISUAL)
 public class FreeCam extends Feature {
-    public FreeCam() {
-        super("FreeCam", "Free camera spectator mode", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
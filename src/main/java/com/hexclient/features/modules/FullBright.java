@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 24, name = "FullBright", description = "Maximum brightness everywhere", category = FeatureCategory.VISUAL)
 public class FullBright extends Feature {
-    public FullBright() {
-        super("FullBright", "Maximum brightness everywhere", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
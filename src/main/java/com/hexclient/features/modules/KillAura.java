@@ -2,42 +2,41 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
+import com.hexclient.features.settings.BoolSetting;
+import com.hexclient.features.settings.DoubleSetting;
+import com.hexclient.features.settings.IntSetting;
+import com.hexclient.world.WorldSnapshot;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.mob.Monster;
-import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.hit.HitResult;
-import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.RaycastContext;
 
-import java.util.List;
-import java.util.stream.StreamSupport;
-
 /**
  * KillAura - Automatically attacks nearby entities
  * Similar to combat features found in Wurst and Meteor clients
  */
+@FeatureInfo(id = 1, name = "KillAura", description = "Automatically attacks nearby entities", category = FeatureCategory.COMBAT)
 public class KillAura extends Feature {
     
     private final MinecraftClient mc = MinecraftClient.getInstance();
     
     // Settings
-    private double range = 4.2;
-    private boolean targetPlayers = true;
-    private boolean targetMobs = true;
-    private boolean targetAnimals = false;
-    private boolean requireLineOfSight = true;
-    private int attackDelay = 10; // ticks
+    private final DoubleSetting range = addSetting(new DoubleSetting("Range", "Attack reach in blocks", 4.2, 0, 6, 0.1));
+    private final BoolSetting targetPlayers = addSetting(new BoolSetting("Players", "Attack players", true));
+    private final BoolSetting targetMobs = addSetting(new BoolSetting("Mobs", "Attack hostile mobs", true));
+    private final BoolSetting targetAnimals = addSetting(new BoolSetting("Animals", "Attack passive mobs", false));
+    private final BoolSetting requireLineOfSight = addSetting(new BoolSetting("Line of Sight", "Only attack visible targets", true));
+    // No upper bound, as before settings existed, so long delays set through setAttackDelay keep working
+    private final IntSetting attackDelay = addSetting(new IntSetting("Attack Delay", "Ticks between attacks", 10, 1, Integer.MAX_VALUE));
     private int ticksSinceLastAttack = 0;
     
-    public KillAura() {
-        super("KillAura", "Automatically attacks nearby entities", FeatureCategory.COMBAT);
-    }
+    // Reused query buffer of snapshot indices
+    private final IntArrayList candidates = new IntArrayList();
     
     @Override
     public void onTick() {
@@ -45,7 +44,7 @@ public class KillAura extends Feature {
         
         ticksSinceLastAttack++;
         
-        if (ticksSinceLastAttack < attackDelay) return;
+        if (ticksSinceLastAttack < attackDelay.get()) return;
         
         Entity target = findBestTarget();
         if (target != null) {
@@ -57,46 +56,46 @@ public class KillAura extends Feature {
     private Entity findBestTarget() {
         if (mc.player == null || mc.world == null) return null;
         
+        WorldSnapshot snapshot = getClient().getWorldSnapshot();
         Vec3d playerPos = mc.player.getPos();
-        Box searchBox = new Box(playerPos.subtract(range, range, range), 
-                               playerPos.add(range, range, range));
-        
-        List<Entity> entities = mc.world.getOtherEntities(mc.player, searchBox);
-        
-        Entity bestTarget = null;
-        double closestDistance = Double.MAX_VALUE;
-        
-        for (Entity entity : entities) {
-            if (!isValidTarget(entity)) continue;
-            
-            double distance = mc.player.distanceTo(entity);
-            if (distance > range) continue;
-            
-            if (requireLineOfSight && !hasLineOfSight(entity)) continue;
-            
-            if (distance < closestDistance) {
-                closestDistance = distance;
-                bestTarget = entity;
+        
+        getClient().getSpatialIndex().queryRadius(playerPos.x, playerPos.y, playerPos.z, range.get(), candidates);
+        
+        int valid = 0;
+        for (int j = 0; j < candidates.size(); j++) {
+            int i = candidates.getInt(j);
+            if (isValidTarget(snapshot, i)) {
+                candidates.set(valid++, i);
+            }
+        }
+        candidates.size(valid);
+        
+        // Nearest first, so at most one raycast is needed when the closest target is visible
+        getClient().getSpatialIndex().sortByDistance(candidates, playerPos.x, playerPos.y, playerPos.z);
+        
+        for (int j = 0; j < candidates.size(); j++) {
+            Entity entity = snapshot.entity(candidates.getInt(j));
+            if (!requireLineOfSight.get() || hasLineOfSight(entity)) {
+                return entity;
             }
         }
         
-        return bestTarget;
+        return null;
     }
     
-    private boolean isValidTarget(Entity entity) {
-        if (!(entity instanceof LivingEntity living)) return false;
-        if (living.isDead() || living.getHealth() <= 0) return false;
+    private boolean isValidTarget(WorldSnapshot snapshot, int i) {
+        if (!snapshot.isAlive(i)) return false;
         
-        if (entity instanceof PlayerEntity) {
-            return targetPlayers && entity != mc.player;
+        if (snapshot.is(i, WorldSnapshot.PLAYER)) {
+            return targetPlayers.get();
         }
         
-        if (entity instanceof Monster) {
-            return targetMobs;
+        if (snapshot.is(i, WorldSnapshot.MONSTER)) {
+            return targetMobs.get();
         }
         
-        if (entity instanceof AnimalEntity) {
-            return targetAnimals;
+        if (snapshot.is(i, WorldSnapshot.ANIMAL)) {
+            return targetAnimals.get();
         }
         
         return false;
@@ -146,21 +145,21 @@ public class KillAura extends Feature {
     }
     
     // Getters and setters for settings
-    public double getRange() { return range; }
-    public void setRange(double range) { this.range = Math.max(0, Math.min(6, range)); }
+    public double getRange() { return range.get(); }
+    public void setRange(double range) { this.range.set(range); }
     
-    public boolean isTargetPlayers() { return targetPlayers; }
-    public void setTargetPlayers(boolean targetPlayers) { this.targetPlayers = targetPlayers; }
+    public boolean isTargetPlayers() { return targetPlayers.get(); }
+    public void setTargetPlayers(boolean targetPlayers) { this.targetPlayers.set(targetPlayers); }
     
-    public boolean isTargetMobs() { return targetMobs; }
-    public void setTargetMobs(boolean targetMobs) { this.targetMobs = targetMobs; }
+    public boolean isTargetMobs() { return targetMobs.get(); }
+    public void setTargetMobs(boolean targetMobs) { this.targetMobs.set(targetMobs); }
     
-    public boolean isTargetAnimals() { return targetAnimals; }
-    public void setTargetAnimals(boolean targetAnimals) { this.targetAnimals = targetAnimals; }
+    public boolean isTargetAnimals() { return targetAnimals.get(); }
+    public void setTargetAnimals(boolean targetAnimals) { this.targetAnimals.set(targetAnimals); }
     
-    public boolean isRequireLineOfSight() { return requireLineOfSight; }
-    public void setRequireLineOfSight(boolean requireLineOfSight) { this.requireLineOfSight = requireLineOfSight; }
+    public boolean isRequireLineOfSight() { return requireLineOfSight.get(); }
+    public void setRequireLineOfSight(boolean requireLineOfSight) { this.requireLineOfSight.set(requireLineOfSight); }
     
-    public int getAttackDelay() { return attackDelay; }
-    public void setAttackDelay(int attackDelay) { this.attackDelay = Math.max(1, attackDelay); }
+    public int getAttackDelay() { return attackDelay.get(); }
+    public void setAttackDelay(int attackDelay) { this.attackDelay.set(attackDelay); }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 36, name = "NameProtect", description = "Protects your username in screenshots", category = FeatureCategory.MISC)
 public class NameProtect extends Feature {
-    public NameProtect() {
-        super("NameProtect", "Protects your username in screenshots", FeatureCategory.MISC);
-    }
 }
\ No newline at end of file
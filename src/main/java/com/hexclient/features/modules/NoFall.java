@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 11, name = "NoFall", description = "Prevents fall damage", category = FeatureCategory.MOVEMENT)
 public class NoFall extends Feature {
-    public NoFall() {
-        super("NoFall", "Prevents fall damage", FeatureCategory.MOVEMENT);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 31, name = "NoLag", description = "Reduces client-side lag", category = FeatureCategory.PERFORMANCE)
 public class NoLag extends Feature {
-    public NoLag() {
-        super("NoLag", "Reduces client-side lag", FeatureCategory.PERFORMANCE);
-    }
 }
\ No newline at end of file
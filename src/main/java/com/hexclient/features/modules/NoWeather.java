@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 25, name = "NoWeather", description = "Removes rain and snow effects", category = FeatureCategory.VISUAL)
 public class NoWeather extends Feature {
-    public NoWeather() {
-        super("NoWeather", "Removes rain and snow effects", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 15, name = "Nuker", description = "Breaks blocks around you", category = FeatureCategory.WORLD)
 public class Nuker extends Feature {
-    public Nuker() {
-        super("Nuker", "Breaks blocks around you", FeatureCategory.WORLD);
-    }
 }
\ No newline at end of file
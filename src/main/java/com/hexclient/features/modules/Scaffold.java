@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 17, name = "Scaffold", description = "Automatically places blocks under you", category = FeatureCategory.WORLD)
 public class Scaffold extends Feature {
-    public Scaffold() {
-        super("Scaffold", "Automatically places blocks under you", FeatureCategory.WORLD);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 10, name = "Speed", description = "Move faster than normal", category = FeatureCategory.MOVEMENT)
 public class Speed extends Feature {
-    public Speed() {
-        super("Speed", "Move faster than normal", FeatureCategory.MOVEMENT);
-    }
 }
\ No newline at end of file
@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 12, name = "Sprint", description = "Automatically sprints", category = FeatureCategory.MOVEMENT)
 public class Sprint extends Feature {
-    public Sprint() {
-        super("Sprint", "Automatically sprints", FeatureCategory.MOVEMENT);
-    }
 }
\ No newline at end of file
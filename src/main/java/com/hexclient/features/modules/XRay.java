@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 20, name = "XRay", description = "See through blocks to find ores", category = FeatureCategory.VISUAL)
 public class XRay extends Feature {
-    public XRay() {
-        super("XRay", "See through blocks to find ores", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
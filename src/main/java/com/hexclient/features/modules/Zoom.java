@@ -2,9 +2,8 @@ package com.hexclient.features.modules;
 
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureInfo;
 
+@FeatureInfo(id = 27, name = "Zoom", description = "Optical zoom functionality", category = FeatureCategory.VISUAL)
 public class Zoom extends Feature {
-    public Zoom() {
-        super("Zoom", "Optical zoom functionality", FeatureCategory.VISUAL);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.hexclient.features.settings;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+public class BoolSetting extends Setting<Boolean> {
+    
+    private final boolean defaultValue;
+    private boolean value;
+    
+    public BoolSetting(String name, String description, boolean defaultValue) {
+        super(name, description);
+        this.defaultValue = defaultValue;
+        this.value = defaultValue;
+    }
+    
+    public boolean get() {
+        return value;
+    }
+    
+    public void set(boolean value) {
+        if (this.value == value) return;
+        this.value = value;
+        fireChanged();
+    }
+    
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+    
+    @Override
+    public void setValue(Boolean value) {
+        set(value);
+    }
+    
+    @Override
+    public void reset() {
+        set(defaultValue);
+    }
+    
+    @Override
+    public void adjust(int direction) {
+        set(!value);
+    }
+    
+    @Override
+    public JsonElement toJson() {
+        return new JsonPrimitive(value);
+    }
+    
+    @Override
+    public void fromJson(JsonElement json) {
+        if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isBoolean()) {
+            set(json.getAsBoolean());
+        }
+    }
+    
+    @Override
+    public String getDisplayValue() {
+        return value ? "On" : "Off";
+    }
+}
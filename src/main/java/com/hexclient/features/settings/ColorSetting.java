@@ -0,0 +1,110 @@
+package com.hexclient.features.settings;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * ARGB color setting; the float components used by renderers are computed once per change
+ */
+public class ColorSetting extends Setting<Integer> {
+    
+    // Colors offered by GUI clicks, in order
+    private static final int[] PALETTE = {
+        0xFFFF0000, 0xFFFF8000, 0xFFFFFF00, 0xFF00FF00,
+        0xFF00FFFF, 0xFF0080FF, 0xFF8000FF, 0xFFFF00FF, 0xFFFFFFFF
+    };
+    
+    private final int defaultValue;
+    private int value;
+    private float red, green, blue, alpha;
+    
+    public ColorSetting(String name, String description, int defaultValue) {
+        super(name, description);
+        this.defaultValue = defaultValue;
+        this.value = defaultValue;
+        splitComponents();
+    }
+    
+    public int get() {
+        return value;
+    }
+    
+    public void set(int value) {
+        if (this.value == value) return;
+        this.value = value;
+        splitComponents();
+        fireChanged();
+    }
+    
+    private void splitComponents() {
+        alpha = ((value >> 24) & 0xFF) / 255.0f;
+        red = ((value >> 16) & 0xFF) / 255.0f;
+        green = ((value >> 8) & 0xFF) / 255.0f;
+        blue = (value & 0xFF) / 255.0f;
+    }
+    
+    public float red() { return red; }
+    public float green() { return green; }
+    public float blue() { return blue; }
+    public float alpha() { return alpha; }
+    
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+    
+    @Override
+    public void setValue(Integer value) {
+        set(value);
+    }
+    
+    @Override
+    public void reset() {
+        set(defaultValue);
+    }
+    
+    @Override
+    public void adjust(int direction) {
+        int index = -1;
+        for (int i = 0; i < PALETTE.length; i++) {
+            if (PALETTE[i] == value) {
+                index = i;
+                break;
+            }
+        }
+        
+        int next = index < 0 ? 0 : Math.floorMod(index + direction, PALETTE.length);
+        set(PALETTE[next]);
+    }
+    
+    @Override
+    public JsonElement toJson() {
+        return new JsonPrimitive(String.format("#%08X", value));
+    }
+    
+    @Override
+    public void fromJson(JsonElement json) {
+        if (!json.isJsonPrimitive()) return;
+        
+        if (json.getAsJsonPrimitive().isNumber()) {
+            set(json.getAsInt());
+            return;
+        }
+        
+        String text = json.getAsString();
+        if (text.startsWith("#")) {
+            try {
+                int color = Integer.parseUnsignedInt(text.substring(1), 16);
+                // #RRGGBB is treated as opaque
+                set(text.length() == 7 ? color | 0xFF000000 : color);
+            } catch (NumberFormatException e) {
+                // Keep the current color
+            }
+        }
+    }
+    
+    @Override
+    public String getDisplayValue() {
+        return String.format("#%08X", value);
+    }
+}
@@ -0,0 +1,83 @@
+package com.hexclient.features.settings;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+public class DoubleSetting extends Setting<Double> {
+    
+    private final double defaultValue;
+    private final double min;
+    private final double max;
+    private final double step;
+    private double value;
+    
+    public DoubleSetting(String name, String description, double defaultValue, double min, double max, double step) {
+        super(name, description);
+        this.min = min;
+        this.max = max;
+        this.step = step;
+        this.defaultValue = clamp(defaultValue);
+        this.value = this.defaultValue;
+    }
+    
+    public double get() {
+        return value;
+    }
+    
+    /**
+     * Set the value, clamped to the setting's range
+     */
+    public void set(double value) {
+        if (Double.isNaN(value)) return;
+        
+        double clamped = clamp(value);
+        if (this.value == clamped) return;
+        this.value = clamped;
+        fireChanged();
+    }
+    
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    @Override
+    public Double getValue() {
+        return value;
+    }
+    
+    @Override
+    public void setValue(Double value) {
+        set(value);
+    }
+    
+    @Override
+    public void reset() {
+        set(defaultValue);
+    }
+    
+    @Override
+    public void adjust(int direction) {
+        // Round to the step so repeated clicks do not accumulate floating point drift
+        set(Math.round((value + direction * step) / step) * step);
+    }
+    
+    @Override
+    public JsonElement toJson() {
+        return new JsonPrimitive(value);
+    }
+    
+    @Override
+    public void fromJson(JsonElement json) {
+        if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber()) {
+            set(json.getAsDouble());
+        }
+    }
+    
+    @Override
+    public String getDisplayValue() {
+        return String.format("%.2f", value);
+    }
+    
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+}
@@ -0,0 +1,79 @@
+package com.hexclient.features.settings;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+public class IntSetting extends Setting<Integer> {
+    
+    private final int defaultValue;
+    private final int min;
+    private final int max;
+    private final int step;
+    private int value;
+    
+    public IntSetting(String name, String description, int defaultValue, int min, int max, int step) {
+        super(name, description);
+        this.min = min;
+        this.max = max;
+        this.step = step;
+        this.defaultValue = clamp(defaultValue);
+        this.value = this.defaultValue;
+    }
+    
+    public IntSetting(String name, String description, int defaultValue, int min, int max) {
+        this(name, description, defaultValue, min, max, 1);
+    }
+    
+    public int get() {
+        return value;
+    }
+    
+    /**
+     * Set the value, clamped to the setting's range
+     */
+    public void set(int value) {
+        int clamped = clamp(value);
+        if (this.value == clamped) return;
+        this.value = clamped;
+        fireChanged();
+    }
+    
+    private int clamp(int value) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+    
+    @Override
+    public void setValue(Integer value) {
+        set(value);
+    }
+    
+    @Override
+    public void reset() {
+        set(defaultValue);
+    }
+    
+    @Override
+    public void adjust(int direction) {
+        set(value + direction * step);
+    }
+    
+    @Override
+    public JsonElement toJson() {
+        return new JsonPrimitive(value);
+    }
+    
+    @Override
+    public void fromJson(JsonElement json) {
+        if (json.isJsonPrimitive() && json.getAsJsonPrimitive().isNumber()) {
+            set(json.getAsInt());
+        }
+    }
+    
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+}
@@ -0,0 +1,70 @@
+package com.hexclient.features.settings;
+
+import com.google.gson.JsonElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A named, typed feature setting
+ * Subclasses store their value unboxed and expose primitive accessors for hot paths;
+ * the boxed accessors here are for persistence and the GUI
+ */
+public abstract class Setting<T> {
+    
+    protected final String name;
+    protected final String description;
+    private final List<Consumer<? super T>> listeners = new ArrayList<>();
+    
+    protected Setting(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+    
+    public abstract T getValue();
+    
+    public abstract void setValue(T value);
+    
+    public abstract void reset();
+    
+    /**
+     * Step the value for a GUI click; direction is +1 or -1
+     */
+    public abstract void adjust(int direction);
+    
+    public abstract JsonElement toJson();
+    
+    /**
+     * Load a stored value; values of the wrong type are ignored
+     */
+    public abstract void fromJson(JsonElement json);
+    
+    public String getDisplayValue() {
+        return String.valueOf(getValue());
+    }
+    
+    /**
+     * Called with the new value whenever it changes
+     */
+    public void addListener(Consumer<? super T> listener) {
+        listeners.add(listener);
+    }
+    
+    protected void fireChanged() {
+        if (listeners.isEmpty()) return;
+        
+        T value = getValue();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).accept(value);
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,8 +1,12 @@
 package com.hexclient.gui;
 
 import com.hexclient.core.HexClient;
+import com.hexclient.features.CircuitBreaker;
 import com.hexclient.features.Feature;
 import com.hexclient.features.FeatureCategory;
+import com.hexclient.features.FeatureProfiler;
+import com.hexclient.features.TickPhase;
+import com.hexclient.features.settings.Setting;
 import com.hexclient.utils.Logger;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.Screen;
@@ -24,6 +28,7 @@ public class GuiManager {
     private boolean mainGuiOpen = false;
     private boolean clickGuiOpen = false;
     private boolean hudEnabled = true;
+    private boolean profilerVisible = false;
     
     // GUI Components
     private ClickGuiScreen clickGuiScreen;
@@ -58,7 +63,12 @@ public class GuiManager {
     
     public void toggleHud() {
         hudEnabled = !hudEnabled;
-        Logger.info("HUD " + (hudEnabled ? "enabled" : "disabled"));
+        Logger.info("HUD {}", hudEnabled ? "enabled" : "disabled");
+    }
+    
+    public void toggleProfiler() {
+        profilerVisible = !profilerVisible;
+        Logger.info("Profiler overlay {}", profilerVisible ? "enabled" : "disabled");
     }
     
     private void openMainGui() {
@@ -97,6 +107,7 @@ public class GuiManager {
     public boolean isMainGuiOpen() { return mainGuiOpen; }
     public boolean isClickGuiOpen() { return clickGuiOpen; }
     public boolean isHudEnabled() { return hudEnabled; }
+    public boolean isProfilerVisible() { return profilerVisible; }
     
     public ClickGuiScreen getClickGuiScreen() { return clickGuiScreen; }
     public HudRenderer getHudRenderer() { return hudRenderer; }
@@ -106,6 +117,9 @@ public class GuiManager {
      */
     public class ClickGuiScreen extends Screen {
         
+        private static final int PROFILE_BUTTON_WIDTH = 110;
+        private static final int PROFILE_BUTTON_HEIGHT = 15;
+        
         private final List<CategoryPanel> categoryPanels = new ArrayList<>();
         
         public ClickGuiScreen() {
@@ -130,6 +144,8 @@ public class GuiManager {
                 panel.render(matrices, mouseX, mouseY, delta);
             }
             
+            renderProfileButton(matrices);
+            
             super.render(matrices, mouseX, mouseY, delta);
         }
         
@@ -140,9 +156,26 @@ public class GuiManager {
                     return true;
                 }
             }
+            
+            int profileY = this.height - PROFILE_BUTTON_HEIGHT - 10;
+            if (mouseX >= 10 && mouseX <= 10 + PROFILE_BUTTON_WIDTH &&
+                mouseY >= profileY && mouseY <= profileY + PROFILE_BUTTON_HEIGHT) {
+                // Left click for the next profile, right click for the previous one
+                hexClient.getFeatureManager().cycleProfile(button == 1 ? -1 : 1);
+                return true;
+            }
             return super.mouseClicked(mouseX, mouseY, button);
         }
         
+        private void renderProfileButton(net.minecraft.client.util.math.MatrixStack matrices) {
+            String profile = hexClient.getConfigManager().getActiveProfile();
+            int profileY = this.height - PROFILE_BUTTON_HEIGHT - 10;
+            
+            fill(matrices, 10, profileY, 10 + PROFILE_BUTTON_WIDTH, profileY + PROFILE_BUTTON_HEIGHT, 0x88000000);
+            MinecraftClient.getInstance().textRenderer.draw(matrices,
+                "Profile: " + (profile.isEmpty() ? "-" : profile), 15, profileY + 5, 0x6A5ACD);
+        }
+        
         @Override
         public boolean shouldPause() {
             return false; // Don't pause the game
@@ -158,6 +191,7 @@ public class GuiManager {
         private final int width = 110;
         private final int height = 15;
         private boolean expanded = false;
+        private Feature expandedFeature = null;
         
         public CategoryPanel(FeatureCategory category, int x, int y) {
             this.category = category;
@@ -179,13 +213,31 @@ public class GuiManager {
                 int featureY = y + height + 2;
                 
                 for (Feature feature : features) {
+                    CircuitBreaker breaker = feature.getCircuitBreaker();
                     int color = feature.isEnabled() ? 0x8800FF00 : 0x88FF0000;
+                    String label = feature.getName();
+                    if (breaker.isSuspended()) {
+                        color = 0x88FFAA00;
+                        label += " (suspended)";
+                    } else if (breaker.isTripped()) {
+                        label += " (failed)";
+                    }
                     fill(matrices, x, featureY, x + width, featureY + 12, color);
                     
                     MinecraftClient.getInstance().textRenderer.draw(matrices,
-                        feature.getName(), x + 5, featureY + 2, 0xFFFFFF);
+                        label, x + 5, featureY + 2, 0xFFFFFF);
                     
                     featureY += 14;
+                    
+                    if (feature == expandedFeature) {
+                        // Settings generated from the feature's registered settings
+                        for (Setting<?> setting : feature.getSettings()) {
+                            fill(matrices, x + 4, featureY, x + width, featureY + 10, 0x88202020);
+                            MinecraftClient.getInstance().textRenderer.draw(matrices,
+                                setting.getName() + ": " + setting.getDisplayValue(), x + 7, featureY + 1, 0xCCCCCC);
+                            featureY += 11;
+                        }
+                    }
                 }
             }
         }
@@ -211,8 +263,25 @@ public class GuiManager {
                             feature.toggle();
                             return true;
                         }
+                        
+                        if (button == 1) { // Right click to show settings
+                            expandedFeature = expandedFeature == feature ? null : feature;
+                            return true;
+                        }
                     }
                     featureY += 14;
+                    
+                    if (feature == expandedFeature) {
+                        for (Setting<?> setting : feature.getSettings()) {
+                            if (mouseX >= x + 4 && mouseX <= x + width &&
+                                mouseY >= featureY && mouseY <= featureY + 10) {
+                                // Left click steps forward, right click steps back
+                                setting.adjust(button == 1 ? -1 : 1);
+                                return true;
+                            }
+                            featureY += 11;
+                        }
+                    }
                 }
             }
             
@@ -233,11 +302,15 @@ public class GuiManager {
             
             // Render client info
             renderClientInfo();
+            
+            // Render per-feature timings
+            if (profilerVisible) {
+                renderProfiler();
+            }
         }
         
         private void renderEnabledFeatures() {
-            List<Feature> enabledFeatures = hexClient.getFeatureManager().getAllFeatures()
-                .stream().filter(Feature::isEnabled).toList();
+            Feature[] enabledFeatures = hexClient.getFeatureManager().getEnabledFeatures();
             
             int y = 2;
             for (Feature feature : enabledFeatures) {
@@ -247,6 +320,33 @@ public class GuiManager {
             }
         }
         
+        private void renderProfiler() {
+            FeatureProfiler profiler = hexClient.getFeatureManager().getProfiler();
+            Feature[] enabledFeatures = hexClient.getFeatureManager().getEnabledFeatures();
+            
+            int x = 2;
+            int y = mc.getWindow().getScaledHeight() - 12 - enabledFeatures.length * 10;
+            
+            mc.textRenderer.draw(new net.minecraft.client.util.math.MatrixStack(),
+                "Feature        tick p50/p99/max    render p50/p99/max (us)", x, y, 0xFFAA00);
+            y += 10;
+            
+            for (Feature feature : enabledFeatures) {
+                FeatureProfiler.Stats tick = profiler.getStats(feature, TickPhase.POST_TICK);
+                FeatureProfiler.Stats render = profiler.getStats(feature, TickPhase.POST_RENDER);
+                
+                String line = String.format("%-14s %s    %s", feature.getName(), formatStats(tick), formatStats(render));
+                mc.textRenderer.draw(new net.minecraft.client.util.math.MatrixStack(),
+                    line, x, y, 0xFFFFFF);
+                y += 10;
+            }
+        }
+        
+        private String formatStats(FeatureProfiler.Stats stats) {
+            if (stats.samples() == 0) return "-";
+            return String.format("%d/%d/%d", stats.p50() / 1000, stats.p99() / 1000, stats.max() / 1000);
+        }
+        
         private void renderClientInfo() {
             String clientInfo = "HexClient v" + HexClient.VERSION;
             int x = mc.getWindow().getScaledWidth() - mc.textRenderer.getWidth(clientInfo) - 2;
@@ -1,7 +1,15 @@
 package com.hexclient.mixins;
 
+import com.hexclient.core.HexClient;
+import com.hexclient.events.PacketReceiveEvent;
 import net.minecraft.network.ClientConnection;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.listener.PacketListener;
+import net.minecraft.network.packet.Packet;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 /**
  * Mixin for ClientConnection
@@ -9,5 +17,14 @@ import org.spongepowered.asm.mixin.Mixin;
  */
 @Mixin(ClientConnection.class)
 public class ClientConnectionMixin {
-    // Network packet hooks can be added here
-}
\ No newline at end of file
+    
+    @Inject(method = "handlePacket", at = @At("HEAD"), cancellable = true)
+    private static void onHandlePacket(Packet<?> packet, PacketListener listener, CallbackInfo ci) {
+        // Handled for every connection, including the integrated server's; only packets from the server count
+        if (listener instanceof ClientPlayPacketListener && HexClient.getInstance() != null) {
+            if (HexClient.getInstance().getEventBus().post(PacketReceiveEvent.get(packet)).isCancelled()) {
+                ci.cancel();
+            }
+        }
+    }
+}
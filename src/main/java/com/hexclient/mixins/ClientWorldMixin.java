@@ -0,0 +1,43 @@
+package com.hexclient.mixins;
+
+import com.hexclient.core.HexClient;
+import com.hexclient.events.BlockUpdateEvent;
+import com.hexclient.events.EntityRemoveEvent;
+import com.hexclient.events.EntitySpawnEvent;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin for ClientWorld
+ * Provides hooks for entity and block changes in the client world
+ */
+@Mixin(ClientWorld.class)
+public class ClientWorldMixin {
+    
+    @Inject(method = "addEntity", at = @At("TAIL"))
+    private void onAddEntity(Entity entity, CallbackInfo ci) {
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getEventBus().post(EntitySpawnEvent.get(entity));
+        }
+    }
+    
+    @Inject(method = "removeEntity", at = @At("HEAD"))
+    private void onRemoveEntity(int entityId, Entity.RemovalReason removalReason, CallbackInfo ci) {
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getEventBus().post(EntityRemoveEvent.get(entityId));
+        }
+    }
+    
+    @Inject(method = "handleBlockUpdate", at = @At("TAIL"))
+    private void onHandleBlockUpdate(BlockPos pos, BlockState state, int flags, CallbackInfo ci) {
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getEventBus().post(BlockUpdateEvent.get(pos, state));
+        }
+    }
+}
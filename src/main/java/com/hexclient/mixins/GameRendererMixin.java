@@ -1,6 +1,7 @@
 package com.hexclient.mixins;
 
 import com.hexclient.core.HexClient;
+import com.hexclient.features.TickPhase;
 import net.minecraft.client.render.GameRenderer;
 import net.minecraft.client.util.math.MatrixStack;
 import org.spongepowered.asm.mixin.Mixin;
@@ -15,11 +16,18 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(GameRenderer.class)
 public class GameRendererMixin {
     
+    @Inject(method = "renderWorld", at = @At("HEAD"))
+    private void onPreRenderWorld(float tickDelta, long limitTime, MatrixStack matrices, CallbackInfo ci) {
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getFeatureManager().runPhase(TickPhase.PRE_RENDER);
+        }
+    }
+    
     @Inject(method = "renderWorld", at = @At("TAIL"))
     private void onRenderWorld(float tickDelta, long limitTime, MatrixStack matrices, CallbackInfo ci) {
         // World render hook for ESP and other visual features
         if (HexClient.getInstance() != null) {
-            HexClient.getInstance().getFeatureManager().onRender();
+            HexClient.getInstance().getFeatureManager().runPhase(TickPhase.POST_RENDER);
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.hexclient.mixins;
 
 import com.hexclient.core.HexClient;
+import com.hexclient.events.HudRenderEvent;
 import net.minecraft.client.gui.hud.InGameHud;
 import net.minecraft.client.util.math.MatrixStack;
 import org.spongepowered.asm.mixin.Mixin;
@@ -20,6 +21,7 @@ public class InGameHudMixin {
         // Render HexClient HUD elements
         if (HexClient.getInstance() != null) {
             HexClient.getInstance().getGuiManager().renderHud();
+            HexClient.getInstance().getEventBus().post(HudRenderEvent.get(matrices, tickDelta));
         }
     }
 }
\ No newline at end of file
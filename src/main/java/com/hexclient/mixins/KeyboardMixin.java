@@ -1,7 +1,12 @@
 package com.hexclient.mixins;
 
+import com.hexclient.core.HexClient;
+import com.hexclient.events.KeyPressEvent;
 import net.minecraft.client.Keyboard;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 /**
  * Mixin for Keyboard
@@ -9,5 +14,11 @@ import org.spongepowered.asm.mixin.Mixin;
  */
 @Mixin(Keyboard.class)
 public class KeyboardMixin {
-    // Keyboard input hooks can be added here
-}
\ No newline at end of file
+    
+    @Inject(method = "onKey", at = @At("HEAD"))
+    private void onKey(long window, int key, int scancode, int action, int modifiers, CallbackInfo ci) {
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getEventBus().post(KeyPressEvent.get(key, scancode, action, modifiers));
+        }
+    }
+}
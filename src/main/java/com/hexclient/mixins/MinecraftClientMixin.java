@@ -1,7 +1,10 @@
 package com.hexclient.mixins;
 
 import com.hexclient.core.HexClient;
+import com.hexclient.features.TickPhase;
+import com.hexclient.utils.FlightRecorder;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -16,9 +19,23 @@ public class MinecraftClientMixin {
     
     @Inject(method = "tick", at = @At("HEAD"))
     private void onTick(CallbackInfo ci) {
-        // Called every client tick
+        // Called at the start of every client tick
         if (HexClient.getInstance() != null) {
-            HexClient.getInstance().getFeatureManager().onTick();
+            HexClient.getInstance().getFeatureManager().runPhase(TickPhase.PRE_TICK);
         }
     }
+    
+    @Inject(method = "joinWorld", at = @At("HEAD"))
+    private void onJoinWorld(ClientWorld world, CallbackInfo ci) {
+        // No world frames were rendered while loading, so the gap is not a frame time
+        if (HexClient.getInstance() != null) {
+            HexClient.getInstance().getFeatureManager().resetFrameTiming();
+        }
+    }
+    
+    @Inject(method = "printCrashReport", at = @At("HEAD"))
+    private static void onCrash(CallbackInfo ci) {
+        // Written synchronously, the process is about to exit
+        FlightRecorder.dump("crash");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.hexclient.utils;
+
+/**
+ * Fixed-capacity circular buffer of double tuples, stored flat in one array
+ * Each entry has {@code stride} components; once full, adding overwrites the oldest entry.
+ * Index 0 is the oldest entry and {@code size() - 1} the newest. Nothing is allocated after
+ * construction
+ */
+public final class DoubleRingBuffer {
+    
+    private final double[] data;
+    private final int capacity;
+    private final int stride;
+    private int start = 0;
+    private int size = 0;
+    
+    public DoubleRingBuffer(int capacity, int stride) {
+        if (capacity <= 0 || stride <= 0) {
+            throw new IllegalArgumentException("capacity and stride must be positive");
+        }
+        this.data = new double[capacity * stride];
+        this.capacity = capacity;
+        this.stride = stride;
+    }
+    
+    public void add(double a, double b, double c) {
+        int base = claim(3);
+        data[base] = a;
+        data[base + 1] = b;
+        data[base + 2] = c;
+    }
+    
+    /**
+     * Offset of the slot for a new entry, evicting the oldest when full
+     */
+    private int claim(int components) {
+        if (components != stride) {
+            throw new IllegalStateException("Buffer stride is " + stride + ", not " + components);
+        }
+        
+        int slot;
+        if (size < capacity) {
+            slot = start + size++;
+            if (slot >= capacity) slot -= capacity;
+        } else {
+            slot = start;
+            if (++start == capacity) start = 0;
+        }
+        return slot * stride;
+    }
+    
+    /**
+     * Component of the entry at an index, 0 being the oldest
+     */
+    public double get(int index, int component) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (component < 0 || component >= stride) {
+            throw new IndexOutOfBoundsException("Component " + component + " out of bounds for stride " + stride);
+        }
+        int slot = start + index;
+        if (slot >= capacity) slot -= capacity;
+        return data[slot * stride + component];
+    }
+    
+    /**
+     * Component of the newest entry
+     */
+    public double last(int component) {
+        return get(size - 1, component);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    public int stride() {
+        return stride;
+    }
+    
+    public boolean isFull() {
+        return size == capacity;
+    }
+    
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,238 @@
+package com.hexclient.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Always-on flight recorder for HexClient
+ * Events are packed into a preallocated ring of longs, two per event: a nanoTime stamp and a
+ * header word holding the event type, a small argument, a feature id and a 36-bit value.
+ * Recording is one atomic increment and two array stores. The ring is written out on crash,
+ * on the dump keybind, or after a very slow frame, and read back with FlightRecorderDecoder
+ */
+public final class FlightRecorder {
+    
+    static final int MAGIC = 0x48584652; // "HXFR"
+    static final int VERSION = 1;
+    
+    // Event types, stored in the top four bits of the header word
+    static final int TICK = 1;
+    static final int ENABLE = 2;
+    static final int DISABLE = 3;
+    static final int CONFIG_SAVE = 4;
+    static final int EXCEPTION = 5;
+    static final int FRAME = 6;
+    
+    static final int TYPE_SHIFT = 60;
+    static final int ARG_SHIFT = 52;
+    static final int FEATURE_SHIFT = 36;
+    static final long ARG_MASK = 0xFF;
+    static final long FEATURE_MASK = 0xFFFF;
+    static final long VALUE_MASK = (1L << FEATURE_SHIFT) - 1;
+    
+    /** Feature id used for events that do not belong to a feature */
+    static final int NO_FEATURE = (int) FEATURE_MASK;
+    
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+    private static final long[] ring = new long[CAPACITY * 2];
+    private static final AtomicLong cursor = new AtomicLong();
+    
+    // Exception classes are recorded as small ids; the names go into the dump
+    private static final int MAX_EXCEPTION_TYPES = 255;
+    private static final String[] exceptionNames = new String[MAX_EXCEPTION_TYPES + 1];
+    private static int exceptionTypes = 0;
+    private static final ClassValue<Integer> exceptionIds = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return registerException(type.getName());
+        }
+    };
+    
+    // Slow frames trigger a dump, at most once per cooldown
+    private static final long SLOW_FRAME_NANOS = 250_000_000L;
+    private static final long DUMP_COOLDOWN_NANOS = 60_000_000_000L;
+    private static final AtomicLong lastAutoDump = new AtomicLong(System.nanoTime() - DUMP_COOLDOWN_NANOS);
+    
+    private static volatile Path directory;
+    private static volatile String[] featureNames = new String[0];
+    private static volatile String[] phaseNames = new String[0];
+    
+    private static final Object DUMP_LOCK = new Object();
+    // Older dumps beyond this many are deleted after each write
+    private static final int MAX_DUMPS = 10;
+    private static final String DUMP_GLOB = "flight-*.hxfr";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private FlightRecorder() {
+    }
+    
+    /**
+     * Set where dumps go and the names used to label feature ids and phase ordinals
+     */
+    public static void configure(Path dumpDirectory, String[] features, String[] phases) {
+        directory = dumpDirectory;
+        featureNames = features.clone();
+        phaseNames = phases.clone();
+    }
+    
+    public static void recordTick(int featureId, int phase, long nanos) {
+        record(TICK, phase, featureId, nanos);
+    }
+    
+    public static void recordToggle(int featureId, boolean enabled) {
+        record(enabled ? ENABLE : DISABLE, 0, featureId, 0);
+    }
+    
+    public static void recordConfigSave(long nanos, boolean success) {
+        record(CONFIG_SAVE, success ? 1 : 0, NO_FEATURE, nanos);
+    }
+    
+    public static void recordException(Throwable throwable) {
+        recordException(NO_FEATURE, throwable);
+    }
+    
+    public static void recordException(int featureId, Throwable throwable) {
+        record(EXCEPTION, 0, featureId, exceptionIds.get(throwable.getClass()));
+    }
+    
+    /**
+     * Record a frame time; a frame over the threshold dumps the ring in the background
+     */
+    public static void recordFrame(long nanos) {
+        record(FRAME, 0, NO_FEATURE, nanos);
+        
+        if (nanos > SLOW_FRAME_NANOS) {
+            long now = System.nanoTime();
+            long last = lastAutoDump.get();
+            if (now - last > DUMP_COOLDOWN_NANOS && lastAutoDump.compareAndSet(last, now)) {
+                dumpAsync("slow-frame");
+            }
+        }
+    }
+    
+    private static void record(int type, int arg, int featureId, long value) {
+        long header = ((long) type << TYPE_SHIFT)
+            | ((arg & ARG_MASK) << ARG_SHIFT)
+            | ((featureId & FEATURE_MASK) << FEATURE_SHIFT)
+            | Math.min(Math.max(value, 0), VALUE_MASK);
+        
+        int slot = (int) (cursor.getAndIncrement() & MASK) << 1;
+        ring[slot] = System.nanoTime();
+        ring[slot + 1] = header;
+    }
+    
+    private static synchronized int registerException(String name) {
+        if (exceptionTypes == MAX_EXCEPTION_TYPES) {
+            // Table full; later types share the last id
+            exceptionNames[MAX_EXCEPTION_TYPES] = "(other)";
+            return MAX_EXCEPTION_TYPES;
+        }
+        exceptionNames[exceptionTypes] = name;
+        return exceptionTypes++;
+    }
+    
+    /**
+     * Write the ring on a background thread
+     */
+    public static void dumpAsync(String reason) {
+        Thread thread = new Thread(() -> dump(reason), "HexClient Flight Recorder Dump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Write the ring to a new file in the dump directory
+     * Recording carries on during the dump, so the newest few events may be torn
+     *
+     * @return the file written, or null if the recorder is not configured or the write failed
+     */
+    public static Path dump(String reason) {
+        synchronized (DUMP_LOCK) {
+            return writeDump(reason);
+        }
+    }
+    
+    private static Path writeDump(String reason) {
+        Path dir = directory;
+        if (dir == null) return null;
+        
+        long dumpTime = System.nanoTime();
+        long end = cursor.get();
+        long[] copy = ring.clone();
+        String[] exceptions;
+        synchronized (FlightRecorder.class) {
+            exceptions = exceptionNames.clone();
+        }
+        
+        Path file = dir.resolve("flight-" + LocalDateTime.now().format(FILE_TIME) + "-" + reason + ".hxfr");
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(reason);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(dumpTime);
+            
+            writeNames(out, featureNames);
+            writeNames(out, phaseNames);
+            writeNames(out, exceptions);
+            
+            // Oldest event first
+            long start = Math.max(0, end - CAPACITY);
+            out.writeInt((int) (end - start));
+            for (long seq = start; seq < end; seq++) {
+                int slot = (int) (seq & MASK) << 1;
+                out.writeLong(copy[slot]);
+                out.writeLong(copy[slot + 1]);
+            }
+        } catch (IOException e) {
+            Logger.error("Failed to write flight recorder dump {}", file, e);
+            return null;
+        }
+        
+        Logger.info("Wrote flight recorder dump to {}", file);
+        pruneDumps(dir);
+        return file;
+    }
+    
+    /**
+     * Delete all but the newest dumps; file names start with their timestamp, so they sort by age
+     */
+    private static void pruneDumps(Path dir) {
+        List<Path> dumps = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, DUMP_GLOB)) {
+            stream.forEach(dumps::add);
+        } catch (IOException e) {
+            Logger.warn("Failed to list flight recorder dumps: {}", e.toString());
+            return;
+        }
+        
+        dumps.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        for (int i = 0; i < dumps.size() - MAX_DUMPS; i++) {
+            try {
+                Files.deleteIfExists(dumps.get(i));
+            } catch (IOException e) {
+                Logger.warn("Failed to delete old flight recorder dump {}: {}", dumps.get(i), e.toString());
+            }
+        }
+    }
+    
+    private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name != null ? name : "");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.hexclient.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Turns a flight recorder dump into readable text, one event per line
+ * Usage: java -cp hexclient.jar com.hexclient.utils.FlightRecorderDecoder flight-....hxfr
+ */
+public final class FlightRecorderDecoder {
+    
+    private FlightRecorderDecoder() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: FlightRecorderDecoder <dump file>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            decode(Path.of(arg), System.out);
+        }
+    }
+    
+    public static void decode(Path file, PrintStream out) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != FlightRecorder.MAGIC) {
+                throw new IOException(file + " is not a flight recorder dump");
+            }
+            int version = in.readInt();
+            if (version != FlightRecorder.VERSION) {
+                throw new IOException("Unsupported flight recorder version " + version);
+            }
+            
+            String reason = in.readUTF();
+            long wallClock = in.readLong();
+            long dumpTime = in.readLong();
+            String[] features = readNames(in);
+            String[] phases = readNames(in);
+            String[] exceptions = readNames(in);
+            int count = in.readInt();
+            
+            out.println("Flight recorder dump: " + file.getFileName());
+            out.println("Reason: " + reason + ", written " + Instant.ofEpochMilli(wallClock) + ", " + count + " events");
+            out.println("Times are milliseconds before the dump");
+            out.println();
+            
+            for (int i = 0; i < count; i++) {
+                long time = in.readLong();
+                long header = in.readLong();
+                if (header == 0) continue;
+                out.printf("%10.3f  %s%n", (dumpTime - time) / 1_000_000.0, describe(header, features, phases, exceptions));
+            }
+        }
+    }
+    
+    private static String describe(long header, String[] features, String[] phases, String[] exceptions) {
+        int type = (int) (header >>> FlightRecorder.TYPE_SHIFT);
+        int arg = (int) ((header >>> FlightRecorder.ARG_SHIFT) & FlightRecorder.ARG_MASK);
+        int featureId = (int) ((header >>> FlightRecorder.FEATURE_SHIFT) & FlightRecorder.FEATURE_MASK);
+        long value = header & FlightRecorder.VALUE_MASK;
+        String feature = label(features, featureId, "feature #");
+        
+        return switch (type) {
+            case FlightRecorder.TICK -> String.format("TICK       %-16s %-12s %8.1f us",
+                feature, label(phases, arg, "phase #"), value / 1000.0);
+            case FlightRecorder.ENABLE -> "ENABLE     " + feature;
+            case FlightRecorder.DISABLE -> "DISABLE    " + feature;
+            case FlightRecorder.CONFIG_SAVE -> String.format("CONFIG     save %s in %.1f ms",
+                arg == 1 ? "ok" : "FAILED", value / 1_000_000.0);
+            case FlightRecorder.EXCEPTION -> "EXCEPTION  "
+                + (featureId == FlightRecorder.NO_FEATURE ? "-" : feature) + " " + label(exceptions, (int) value, "exception #");
+            case FlightRecorder.FRAME -> String.format("FRAME      %.2f ms", value / 1_000_000.0);
+            default -> "UNKNOWN    type " + type + " header 0x" + Long.toHexString(header);
+        };
+    }
+    
+    private static String label(String[] names, int index, String fallback) {
+        if (index >= 0 && index < names.length && !names[index].isEmpty()) {
+            return names[index];
+        }
+        return fallback + index;
+    }
+    
+    private static String[] readNames(DataInputStream in) throws IOException {
+        String[] names = new String[in.readInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        return names;
+    }
+}
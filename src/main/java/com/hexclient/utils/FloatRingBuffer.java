@@ -0,0 +1,82 @@
+package com.hexclient.utils;
+
+/**
+ * Fixed-capacity circular buffer of float tuples, stored flat in one array
+ * The float counterpart of DoubleRingBuffer, with the same indexing: 0 is the oldest entry
+ */
+public final class FloatRingBuffer {
+    
+    private final float[] data;
+    private final int capacity;
+    private final int stride;
+    private int start = 0;
+    private int size = 0;
+    
+    public FloatRingBuffer(int capacity, int stride) {
+        if (capacity <= 0 || stride <= 0) {
+            throw new IllegalArgumentException("capacity and stride must be positive");
+        }
+        this.data = new float[capacity * stride];
+        this.capacity = capacity;
+        this.stride = stride;
+    }
+    
+    public void add(float a, float b) {
+        int base = claim(2);
+        data[base] = a;
+        data[base + 1] = b;
+    }
+    
+    private int claim(int components) {
+        if (components != stride) {
+            throw new IllegalStateException("Buffer stride is " + stride + ", not " + components);
+        }
+        
+        int slot;
+        if (size < capacity) {
+            slot = start + size++;
+            if (slot >= capacity) slot -= capacity;
+        } else {
+            slot = start;
+            if (++start == capacity) start = 0;
+        }
+        return slot * stride;
+    }
+    
+    public float get(int index, int component) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (component < 0 || component >= stride) {
+            throw new IndexOutOfBoundsException("Component " + component + " out of bounds for stride " + stride);
+        }
+        int slot = start + index;
+        if (slot >= capacity) slot -= capacity;
+        return data[slot * stride + component];
+    }
+    
+    public float last(int component) {
+        return get(size - 1, component);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    public int stride() {
+        return stride;
+    }
+    
+    public boolean isFull() {
+        return size == capacity;
+    }
+    
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+}
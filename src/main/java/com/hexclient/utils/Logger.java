@@ -2,29 +2,254 @@ package com.hexclient.utils;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Centralized logging utility for HexClient
+ * Messages use slf4j-style {} placeholders and are only formatted when their level is enabled.
+ * Formatting and output happen on a background thread, so arguments should be immutable values
  */
 public class Logger {
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger("HexClient");
+    private static final String PREFIX = "[HexClient] ";
+    
+    private static final int DEBUG = 0;
+    private static final int INFO = 1;
+    private static final int WARN = 2;
+    private static final int ERROR = 3;
+    
+    private static final Object[] NO_ARGS = new Object[0];
+    
+    // Async appender; when the queue is full messages are dropped and counted rather than blocking the caller
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final Thread writer = startWriter();
+    private static volatile boolean shuttingDown = false;
     
     public static void info(String message) {
-        LOGGER.info("[HexClient] " + message);
+        if (LOGGER.isInfoEnabled()) enqueue(INFO, message, NO_ARGS);
+    }
+    
+    public static void info(String pattern, Object arg) {
+        if (LOGGER.isInfoEnabled()) enqueue(INFO, pattern, new Object[] { arg });
+    }
+    
+    public static void info(String pattern, Object arg1, Object arg2) {
+        if (LOGGER.isInfoEnabled()) enqueue(INFO, pattern, new Object[] { arg1, arg2 });
+    }
+    
+    public static void info(String pattern, Object... args) {
+        if (LOGGER.isInfoEnabled()) enqueue(INFO, pattern, args);
     }
     
     public static void warn(String message) {
-        LOGGER.warn("[HexClient] " + message);
+        if (LOGGER.isWarnEnabled()) enqueue(WARN, message, NO_ARGS);
+    }
+    
+    public static void warn(String pattern, Object arg) {
+        if (LOGGER.isWarnEnabled()) enqueue(WARN, pattern, new Object[] { arg });
+    }
+    
+    public static void warn(String pattern, Object arg1, Object arg2) {
+        if (LOGGER.isWarnEnabled()) enqueue(WARN, pattern, new Object[] { arg1, arg2 });
+    }
+    
+    public static void warn(String pattern, Object... args) {
+        if (LOGGER.isWarnEnabled()) enqueue(WARN, pattern, args);
     }
     
     public static void error(String message) {
-        LOGGER.error("[HexClient] " + message);
+        if (LOGGER.isErrorEnabled()) enqueue(ERROR, message, NO_ARGS);
     }
     
     public static void error(String message, Throwable throwable) {
-        LOGGER.error("[HexClient] " + message, throwable);
+        if (LOGGER.isErrorEnabled()) enqueue(ERROR, message, new Object[] { throwable });
+    }
+    
+    public static void error(String pattern, Object arg) {
+        if (LOGGER.isErrorEnabled()) enqueue(ERROR, pattern, new Object[] { arg });
+    }
+    
+    public static void error(String pattern, Object arg1, Object arg2) {
+        if (LOGGER.isErrorEnabled()) enqueue(ERROR, pattern, new Object[] { arg1, arg2 });
+    }
+    
+    /**
+     * As with slf4j, a trailing Throwable argument is logged with its stack trace
+     */
+    public static void error(String pattern, Object... args) {
+        if (LOGGER.isErrorEnabled()) enqueue(ERROR, pattern, args);
     }
     
     public static void debug(String message) {
-        LOGGER.debug("[HexClient] " + message);
+        if (LOGGER.isDebugEnabled()) enqueue(DEBUG, message, NO_ARGS);
+    }
+    
+    public static void debug(String pattern, Object arg) {
+        if (LOGGER.isDebugEnabled()) enqueue(DEBUG, pattern, new Object[] { arg });
+    }
+    
+    public static void debug(String pattern, Object arg1, Object arg2) {
+        if (LOGGER.isDebugEnabled()) enqueue(DEBUG, pattern, new Object[] { arg1, arg2 });
+    }
+    
+    public static void debug(String pattern, Object... args) {
+        if (LOGGER.isDebugEnabled()) enqueue(DEBUG, pattern, args);
+    }
+    
+    public static boolean isDebugEnabled() {
+        return LOGGER.isDebugEnabled();
+    }
+    
+    /**
+     * Create a limiter for one call site; keep it in a static final field next to the call
+     */
+    public static RateLimiter rateLimited(long interval, TimeUnit unit) {
+        return new RateLimiter(unit.toNanos(interval));
+    }
+    
+    /**
+     * Number of messages dropped because the queue was full
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+    
+    private static void enqueue(int level, String pattern, Object[] args) {
+        Entry entry = new Entry(level, pattern, args);
+        if (shuttingDown || writer == null) {
+            write(entry);
+        } else if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private static void write(Entry entry) {
+        String pattern = PREFIX + entry.pattern;
+        switch (entry.level) {
+            case DEBUG -> LOGGER.debug(pattern, entry.args);
+            case INFO -> LOGGER.info(pattern, entry.args);
+            case WARN -> LOGGER.warn(pattern, entry.args);
+            default -> LOGGER.error(pattern, entry.args);
+        }
+    }
+    
+    private static Thread startWriter() {
+        try {
+            Thread thread = new Thread(Logger::drainLoop, "HexClient Logger");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::flush, "HexClient Logger Shutdown"));
+            return thread;
+        } catch (SecurityException | IllegalStateException e) {
+            // Fall back to logging on the calling thread
+            return null;
+        }
+    }
+    
+    private static void drainLoop() {
+        List<Entry> batch = new ArrayList<>(64);
+        long reportedDrops = 0;
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, 63);
+            
+            for (Entry entry : batch) {
+                try {
+                    write(entry);
+                } catch (RuntimeException e) {
+                    // A broken toString() on an argument must not kill the writer
+                    LOGGER.error(PREFIX + "Failed to write log message: " + entry.pattern, e);
+                }
+            }
+            batch.clear();
+            
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                LOGGER.warn(PREFIX + "Log queue overflowed, dropped {} messages", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+        }
+    }
+    
+    /**
+     * Write out everything still queued; later messages are logged synchronously
+     */
+    public static void flush() {
+        shuttingDown = true;
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+    }
+    
+    private record Entry(int level, String pattern, Object[] args) {
+    }
+    
+    /**
+     * Per-call-site limiter: at most one message per interval, with the suppressed count reported
+     * on the next message that gets through
+     */
+    public static class RateLimiter {
+        private final long intervalNanos;
+        private final AtomicLong nextAllowed = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger suppressed = new AtomicInteger();
+        
+        private RateLimiter(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+        
+        public void warn(String pattern, Object... args) {
+            if (LOGGER.isWarnEnabled() && acquire()) emit(WARN, pattern, args);
+        }
+        
+        public void error(String pattern, Object... args) {
+            if (LOGGER.isErrorEnabled() && acquire()) emit(ERROR, pattern, args);
+        }
+        
+        public void info(String pattern, Object... args) {
+            if (LOGGER.isInfoEnabled() && acquire()) emit(INFO, pattern, args);
+        }
+        
+        private boolean acquire() {
+            long now = System.nanoTime();
+            long next = nextAllowed.get();
+            if ((next != Long.MIN_VALUE && now - next < 0) || !nextAllowed.compareAndSet(next, now + intervalNanos)) {
+                suppressed.incrementAndGet();
+                return false;
+            }
+            return true;
+        }
+        
+        private void emit(int level, String pattern, Object[] args) {
+            int count = suppressed.getAndSet(0);
+            if (count == 0) {
+                enqueue(level, pattern, args);
+                return;
+            }
+            
+            // Keep a trailing Throwable last so slf4j still prints its stack trace
+            Object[] extended = new Object[args.length + 1];
+            if (args.length > 0 && args[args.length - 1] instanceof Throwable throwable) {
+                System.arraycopy(args, 0, extended, 0, args.length - 1);
+                extended[args.length - 1] = count;
+                extended[args.length] = throwable;
+            } else {
+                System.arraycopy(args, 0, extended, 0, args.length);
+                extended[args.length] = count;
+            }
+            enqueue(level, pattern + " ({} similar messages suppressed)", extended);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.hexclient.utils;
+
+/**
+ * Least-squares line through a sliding window of 3D points, updated in O(1) per point
+ * Keeps the count, sums and second moments of the points; the best-fit line runs along the
+ * largest eigenvector of their covariance, and the mean squared distance of the points from
+ * it is the sum of the other two eigenvalues.
+ * Sums are kept relative to an anchor point, since world coordinates are large enough for
+ * squared sums to lose the precision this needs; call {@link #reanchor} now and then to
+ * move the anchor near the points and shed rounding error
+ */
+public final class RunningLineFit {
+    
+    private double anchorX, anchorY, anchorZ;
+    private int count = 0;
+    private double sumX, sumY, sumZ;
+    private double sumXX, sumYY, sumZZ, sumXY, sumXZ, sumYZ;
+    
+    public void add(double x, double y, double z) {
+        accumulate(x - anchorX, y - anchorY, z - anchorZ, 1);
+    }
+    
+    /**
+     * Remove a point previously added
+     */
+    public void remove(double x, double y, double z) {
+        accumulate(x - anchorX, y - anchorY, z - anchorZ, -1);
+    }
+    
+    private void accumulate(double x, double y, double z, int sign) {
+        count += sign;
+        sumX += sign * x;
+        sumY += sign * y;
+        sumZ += sign * z;
+        sumXX += sign * x * x;
+        sumYY += sign * y * y;
+        sumZZ += sign * z * z;
+        sumXY += sign * x * y;
+        sumXZ += sign * x * z;
+        sumYZ += sign * y * z;
+    }
+    
+    /**
+     * Clear the sums and anchor them at a point; the caller then adds the window's points again
+     */
+    public void reanchor(double x, double y, double z) {
+        clear();
+        anchorX = x;
+        anchorY = y;
+        anchorZ = z;
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    /**
+     * Mean squared distance of the points from their best-fit line
+     */
+    public double meanSquaredDeviation() {
+        if (count < 2) return 0;
+        
+        double mx = sumX / count;
+        double my = sumY / count;
+        double mz = sumZ / count;
+        double a = sumXX / count - mx * mx;
+        double d = sumYY / count - my * my;
+        double f = sumZZ / count - mz * mz;
+        double b = sumXY / count - mx * my;
+        double c = sumXZ / count - mx * mz;
+        double e = sumYZ / count - my * mz;
+        
+        return Math.max(0, a + d + f - largestEigenvalue(a, b, c, d, e, f));
+    }
+    
+    /**
+     * Root mean squared distance of the points from their best-fit line
+     */
+    public double rmsDeviation() {
+        return Math.sqrt(meanSquaredDeviation());
+    }
+    
+    public void clear() {
+        count = 0;
+        sumX = sumY = sumZ = 0;
+        sumXX = sumYY = sumZZ = sumXY = sumXZ = sumYZ = 0;
+    }
+    
+    /**
+     * Largest eigenvalue of the symmetric matrix [[a, b, c], [b, d, e], [c, e, f]], in closed form
+     */
+    private static double largestEigenvalue(double a, double b, double c, double d, double e, double f) {
+        double offDiagonal = b * b + c * c + e * e;
+        if (offDiagonal == 0) {
+            return Math.max(a, Math.max(d, f));
+        }
+        
+        double q = (a + d + f) / 3;
+        double p = Math.sqrt(((a - q) * (a - q) + (d - q) * (d - q) + (f - q) * (f - q) + 2 * offDiagonal) / 6);
+        if (p == 0) return q;
+        
+        // Determinant of (A - qI) / p, halved, gives the angle of the eigenvalues around q
+        double ba = (a - q) / p, bd = (d - q) / p, bf = (f - q) / p;
+        double bb = b / p, bc = c / p, be = e / p;
+        double r = (ba * (bd * bf - be * be) - bb * (bb * bf - be * bc) + bc * (bb * be - bd * bc)) / 2;
+        double phi = Math.acos(Math.max(-1, Math.min(1, r))) / 3;
+        return q + 2 * p * Math.cos(phi);
+    }
+}
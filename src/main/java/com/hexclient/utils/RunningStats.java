@@ -0,0 +1,61 @@
+package com.hexclient.utils;
+
+/**
+ * Mean and variance of a sliding window, updated in O(1) per sample
+ * Uses Welford's update for additions and its inverse for removals; the caller removes the
+ * value leaving its window, typically the one a ring buffer is about to overwrite
+ */
+public final class RunningStats {
+    
+    private int count = 0;
+    private double mean = 0;
+    // Sum of squared differences from the mean
+    private double m2 = 0;
+    
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+    
+    /**
+     * Remove a value previously added
+     */
+    public void remove(double value) {
+        if (count <= 1) {
+            clear();
+            return;
+        }
+        count--;
+        double delta = value - mean;
+        mean -= delta / count;
+        // Rounding can leave a tiny negative sum once the window is nearly constant
+        m2 = Math.max(0, m2 - delta * (value - mean));
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    public double mean() {
+        return mean;
+    }
+    
+    /**
+     * Population variance of the window
+     */
+    public double variance() {
+        return count > 0 ? m2 / count : 0;
+    }
+    
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+    
+    public void clear() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.hexclient.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexclient.BotAnalysis")
+@Label("Bot Analysis")
+@Description("One BotDetector pass over the players in the world")
+@Category({ "HexClient", "Features" })
+@Enabled(false)
+@StackTrace(false)
+public class BotAnalysisEvent extends Event {
+    
+    @Label("Players Analyzed")
+    public int playersAnalyzed;
+    
+    @Label("New Detections")
+    public int newDetections;
+    
+    @Label("Tracked Players")
+    public int trackedPlayers;
+}
@@ -0,0 +1,32 @@
+package com.hexclient.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("hexclient.ConfigIo")
+@Label("Config I/O")
+@Description("Loading or saving the HexClient configuration file")
+@Category({ "HexClient", "Config" })
+@Enabled(false)
+@StackTrace(false)
+public class ConfigIoEvent extends Event {
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+    
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,26 @@
+package com.hexclient.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields for feature hook events
+ * Disabled by default; turned on by the hexclient.jfc settings profile
+ */
+@Category({ "HexClient", "Features" })
+@Enabled(false)
+@StackTrace(false)
+public abstract class FeatureEvent extends Event {
+    
+    @Label("Feature")
+    public String feature;
+    
+    @Label("Phase")
+    public String phase;
+    
+    @Label("Entities")
+    public int entityCount;
+}
@@ -0,0 +1,11 @@
+package com.hexclient.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hexclient.FeatureRender")
+@Label("Feature Render")
+@Description("A feature's pre-render or render hook")
+public class FeatureRenderEvent extends FeatureEvent {
+}
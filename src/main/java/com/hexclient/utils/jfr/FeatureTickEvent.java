@@ -0,0 +1,11 @@
+package com.hexclient.utils.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hexclient.FeatureTick")
+@Label("Feature Tick")
+@Description("A feature's pre-tick or tick hook")
+public class FeatureTickEvent extends FeatureEvent {
+}
@@ -0,0 +1,232 @@
+package com.hexclient.world;
+
+import com.hexclient.events.EntityRemoveEvent;
+import com.hexclient.events.EntitySpawnEvent;
+import com.hexclient.events.EventHandler;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.Entity;
+
+/**
+ * Uniform grid of entity ids over the x/z plane
+ * Entities are re-bucketed only when they cross a cell boundary, so keeping the index current costs
+ * little more than reading the snapshot. Queries return indices into the current {@link WorldSnapshot}
+ * and compare squared distances only
+ */
+public class EntitySpatialIndex {
+    
+    private static final int CELL_SHIFT = 4; // 16 block columns
+    
+    /** Extra cells searched by box queries so wide entities whose position lies outside the box are found */
+    private static final int BOX_MARGIN = 1;
+    
+    private static final long NO_CELL = Long.MIN_VALUE;
+    
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+    private final Int2LongOpenHashMap cellOfEntity = new Int2LongOpenHashMap();
+    private final Int2IntOpenHashMap snapshotIndex = new Int2IntOpenHashMap();
+    
+    private WorldSnapshot snapshot;
+    
+    public EntitySpatialIndex() {
+        cellOfEntity.defaultReturnValue(NO_CELL);
+        snapshotIndex.defaultReturnValue(-1);
+    }
+    
+    /**
+     * Bring the index in line with a freshly captured snapshot
+     */
+    public void update(WorldSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshotIndex.clear();
+        
+        for (int i = 0; i < snapshot.size(); i++) {
+            int id = snapshot.id(i);
+            snapshotIndex.put(id, i);
+            move(id, cellKey(snapshot.x(i), snapshot.z(i)));
+        }
+        
+        // Drop entities that vanished without a remove event, such as on world change
+        if (cellOfEntity.size() > snapshotIndex.size()) {
+            ObjectIterator<Int2LongMap.Entry> iterator = cellOfEntity.int2LongEntrySet().fastIterator();
+            while (iterator.hasNext()) {
+                Int2LongMap.Entry entry = iterator.next();
+                if (!snapshotIndex.containsKey(entry.getIntKey())) {
+                    removeFromCell(entry.getIntKey(), entry.getLongValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        cells.clear();
+        cellOfEntity.clear();
+        snapshotIndex.clear();
+    }
+    
+    @EventHandler
+    private void onEntitySpawn(EntitySpawnEvent event) {
+        Entity entity = event.getEntity();
+        move(entity.getId(), cellKey(entity.getX(), entity.getZ()));
+    }
+    
+    @EventHandler
+    private void onEntityRemove(EntityRemoveEvent event) {
+        long cell = cellOfEntity.remove(event.getEntityId());
+        if (cell != NO_CELL) {
+            removeFromCell(event.getEntityId(), cell);
+        }
+        snapshotIndex.remove(event.getEntityId());
+    }
+    
+    private void move(int id, long cell) {
+        long previous = cellOfEntity.put(id, cell);
+        if (previous == cell) return;
+        
+        if (previous != NO_CELL) {
+            removeFromCell(id, previous);
+        }
+        cells.computeIfAbsent(cell, k -> new IntArrayList(4)).add(id);
+    }
+    
+    private void removeFromCell(int id, long cell) {
+        IntArrayList bucket = cells.get(cell);
+        if (bucket == null) return;
+        
+        bucket.rem(id);
+        if (bucket.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+    
+    // Queries
+    
+    /**
+     * Snapshot indices of entities whose position lies within the given radius
+     */
+    public void queryRadius(double x, double y, double z, double radius, IntArrayList out) {
+        out.clear();
+        if (snapshot == null) return;
+        
+        double radiusSq = radius * radius;
+        int minCellX = cellCoord(x - radius);
+        int maxCellX = cellCoord(x + radius);
+        int minCellZ = cellCoord(z - radius);
+        int maxCellZ = cellCoord(z + radius);
+        
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                IntArrayList bucket = cells.get(pack(cellX, cellZ));
+                if (bucket == null) continue;
+                
+                for (int j = 0; j < bucket.size(); j++) {
+                    int i = snapshotIndex.get(bucket.getInt(j));
+                    if (i >= 0 && snapshot.distanceSq(i, x, y, z) <= radiusSq) {
+                        out.add(i);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Snapshot indices of entities whose bounding box intersects the given box
+     */
+    public void queryBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IntArrayList out) {
+        out.clear();
+        if (snapshot == null) return;
+        
+        int minCellX = cellCoord(minX) - BOX_MARGIN;
+        int maxCellX = cellCoord(maxX) + BOX_MARGIN;
+        int minCellZ = cellCoord(minZ) - BOX_MARGIN;
+        int maxCellZ = cellCoord(maxZ) + BOX_MARGIN;
+        
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                IntArrayList bucket = cells.get(pack(cellX, cellZ));
+                if (bucket == null) continue;
+                
+                for (int j = 0; j < bucket.size(); j++) {
+                    int i = snapshotIndex.get(bucket.getInt(j));
+                    if (i >= 0 && snapshot.intersects(i, minX, minY, minZ, maxX, maxY, maxZ)) {
+                        out.add(i);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Snapshot indices of entities within range whose direction from the origin is within the cone
+     * around the given normalized direction; cosHalfAngle is the cosine of the cone's half angle
+     */
+    public void queryCone(double x, double y, double z, double dirX, double dirY, double dirZ,
+                          double cosHalfAngle, double range, IntArrayList out) {
+        queryRadius(x, y, z, range, out);
+        
+        double cosSq = cosHalfAngle * cosHalfAngle;
+        int kept = 0;
+        for (int j = 0; j < out.size(); j++) {
+            int i = out.getInt(j);
+            double dx = snapshot.x(i) - x;
+            double dy = snapshot.y(i) - y;
+            double dz = snapshot.z(i) - z;
+            double dot = dx * dirX + dy * dirY + dz * dirZ;
+            
+            // dot / |d| >= cos, compared without a square root
+            boolean inside = cosHalfAngle >= 0
+                ? dot >= 0 && dot * dot >= cosSq * (dx * dx + dy * dy + dz * dz)
+                : dot >= 0 || dot * dot <= cosSq * (dx * dx + dy * dy + dz * dz);
+            if (inside) {
+                out.set(kept++, i);
+            }
+        }
+        out.size(kept);
+    }
+    
+    /**
+     * Snapshot indices of the k nearest entities within the given radius, nearest first
+     */
+    public void queryNearest(double x, double y, double z, double radius, int k, IntArrayList out) {
+        queryRadius(x, y, z, radius, out);
+        sortByDistance(out, x, y, z);
+        if (out.size() > k) {
+            out.size(k);
+        }
+    }
+    
+    /**
+     * Sort snapshot indices by squared distance to the given point, nearest first
+     */
+    public void sortByDistance(IntArrayList indices, double x, double y, double z) {
+        // Candidate lists are short, so an in-place insertion sort beats allocating a comparator
+        for (int j = 1; j < indices.size(); j++) {
+            int current = indices.getInt(j);
+            double currentDistance = snapshot.distanceSq(current, x, y, z);
+            
+            int k = j - 1;
+            while (k >= 0 && snapshot.distanceSq(indices.getInt(k), x, y, z) > currentDistance) {
+                indices.set(k + 1, indices.getInt(k));
+                k--;
+            }
+            indices.set(k + 1, current);
+        }
+    }
+    
+    private static int cellCoord(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+    
+    private static long cellKey(double x, double z) {
+        return pack(cellCoord(x), cellCoord(z));
+    }
+    
+    private static long pack(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
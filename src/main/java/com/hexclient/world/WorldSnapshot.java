@@ -0,0 +1,203 @@
+package com.hexclient.world;
+
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.mob.Monster;
+import net.minecraft.entity.passive.AnimalEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.projectile.ProjectileEntity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Arrays;
+
+/**
+ * Per-tick snapshot of the entities in the client world
+ * Captured once per tick and shared by every feature; entity state is stored in parallel primitive
+ * arrays so range checks and filters never touch entity objects or allocate vectors
+ */
+public class WorldSnapshot {
+    
+    // Entity kind flags, combined into one bit mask per entity
+    public static final int LIVING = 1;
+    public static final int PLAYER = 1 << 1;
+    public static final int MONSTER = 1 << 2;
+    public static final int ANIMAL = 1 << 3;
+    public static final int ITEM = 1 << 4;
+    public static final int PROJECTILE = 1 << 5;
+    
+    private static final int INITIAL_CAPACITY = 256;
+    
+    private int size = 0;
+    private long captureCount = 0;
+    
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private Class<?>[] types = new Class<?>[INITIAL_CAPACITY];
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] z = new double[INITIAL_CAPACITY];
+    private double[] velocityX = new double[INITIAL_CAPACITY];
+    private double[] velocityY = new double[INITIAL_CAPACITY];
+    private double[] velocityZ = new double[INITIAL_CAPACITY];
+    
+    private double[] minX = new double[INITIAL_CAPACITY];
+    private double[] minY = new double[INITIAL_CAPACITY];
+    private double[] minZ = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY];
+    private double[] maxY = new double[INITIAL_CAPACITY];
+    private double[] maxZ = new double[INITIAL_CAPACITY];
+    
+    private float[] health = new float[INITIAL_CAPACITY];
+    
+    /**
+     * Capture every entity in the world except the given one (normally the local player)
+     */
+    public void capture(ClientWorld world, Entity exclude) {
+        clear();
+        if (world == null) return;
+        
+        for (Entity entity : world.getEntities()) {
+            if (entity == exclude || entity.isRemoved()) continue;
+            
+            if (size == entities.length) {
+                grow();
+            }
+            
+            int i = size++;
+            entities[i] = entity;
+            ids[i] = entity.getId();
+            types[i] = entity.getClass();
+            kinds[i] = classify(entity);
+            
+            Vec3d pos = entity.getPos();
+            x[i] = pos.x;
+            y[i] = pos.y;
+            z[i] = pos.z;
+            
+            Vec3d velocity = entity.getVelocity();
+            velocityX[i] = velocity.x;
+            velocityY[i] = velocity.y;
+            velocityZ[i] = velocity.z;
+            
+            Box box = entity.getBoundingBox();
+            minX[i] = box.minX;
+            minY[i] = box.minY;
+            minZ[i] = box.minZ;
+            maxX[i] = box.maxX;
+            maxY[i] = box.maxY;
+            maxZ[i] = box.maxZ;
+            
+            health[i] = entity instanceof LivingEntity living ? living.getHealth() : 0.0f;
+        }
+        
+        captureCount++;
+    }
+    
+    /**
+     * Drop all entity references
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        Arrays.fill(types, 0, size, null);
+        size = 0;
+    }
+    
+    private static int classify(Entity entity) {
+        int kind = 0;
+        if (entity instanceof LivingEntity) kind |= LIVING;
+        if (entity instanceof PlayerEntity) kind |= PLAYER;
+        if (entity instanceof Monster) kind |= MONSTER;
+        if (entity instanceof AnimalEntity) kind |= ANIMAL;
+        if (entity instanceof ItemEntity) kind |= ITEM;
+        if (entity instanceof ProjectileEntity) kind |= PROJECTILE;
+        return kind;
+    }
+    
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        types = Arrays.copyOf(types, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        velocityZ = Arrays.copyOf(velocityZ, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        minZ = Arrays.copyOf(minZ, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        maxZ = Arrays.copyOf(maxZ, capacity);
+        health = Arrays.copyOf(health, capacity);
+    }
+    
+    // Queries
+    
+    /**
+     * Squared distance from the entity's position to the given point
+     */
+    public double distanceSq(int i, double px, double py, double pz) {
+        double dx = x[i] - px;
+        double dy = y[i] - py;
+        double dz = z[i] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+    
+    /**
+     * Whether the entity's bounding box intersects the given box
+     */
+    public boolean intersects(int i, double boxMinX, double boxMinY, double boxMinZ,
+                              double boxMaxX, double boxMaxY, double boxMaxZ) {
+        return minX[i] < boxMaxX && maxX[i] > boxMinX
+            && minY[i] < boxMaxY && maxY[i] > boxMinY
+            && minZ[i] < boxMaxZ && maxZ[i] > boxMinZ;
+    }
+    
+    public boolean is(int i, int kind) {
+        return (kinds[i] & kind) != 0;
+    }
+    
+    /**
+     * Living entity that is not dead
+     */
+    public boolean isAlive(int i) {
+        return (kinds[i] & LIVING) != 0 && health[i] > 0;
+    }
+    
+    // Accessors
+    public int size() { return size; }
+    
+    /**
+     * Number of captures so far; changes once per tick
+     */
+    public long getCaptureCount() { return captureCount; }
+    
+    public Entity entity(int i) { return entities[i]; }
+    public int id(int i) { return ids[i]; }
+    public Class<?> type(int i) { return types[i]; }
+    public int kinds(int i) { return kinds[i]; }
+    
+    public double x(int i) { return x[i]; }
+    public double y(int i) { return y[i]; }
+    public double z(int i) { return z[i]; }
+    public double velocityX(int i) { return velocityX[i]; }
+    public double velocityY(int i) { return velocityY[i]; }
+    public double velocityZ(int i) { return velocityZ[i]; }
+    
+    public double minX(int i) { return minX[i]; }
+    public double minY(int i) { return minY[i]; }
+    public double minZ(int i) { return minZ[i]; }
+    public double maxX(int i) { return maxX[i]; }
+    public double maxY(int i) { return maxY[i]; }
+    public double maxZ(int i) { return maxZ[i]; }
+    
+    public float health(int i) { return health[i]; }
+}